@@ -0,0 +1,55 @@
+package game.benchmarks;
+
+import game.Game;
+import game.Move;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The games the benchmarks are run on, which are the same in every run.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+final class BenchmarkGames {
+    //The number of random moves played from the starting position to reach the middle game.
+    private static final int MIDDLE_GAME_PLY = 20;
+    private static final long SEED = 20261018L;
+
+    private BenchmarkGames()
+    {
+    }
+
+    /**
+     * Returns a new game in the specified stage.
+     * @param stage "start" for the starting position, or "middle" for a middle game position.
+     * @return The new game.
+     */
+    static Game create(String stage)
+    {
+        switch (stage) {
+            case "start":
+                return new Game();
+            case "middle":
+                return middleGame();
+            default:
+                throw new IllegalArgumentException("Unknown stage: " + stage);
+        }
+    }
+
+    /**
+     * Returns a game after a fixed sequence of random moves from the starting position.
+     * @return A game in the middle game.
+     */
+    private static Game middleGame()
+    {
+        Game game = new Game();
+        Random random = new Random(SEED);
+        for (int i = 0; i < MIDDLE_GAME_PLY && game.checkOngoing(); i++) {
+            ArrayList<Move> moves = game.getCurrentPlayer().getMoves();
+            game.move(moves.get(random.nextInt(moves.size())));
+        }
+        return game;
+    }
+}
@@ -0,0 +1,33 @@
+package game.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that the allocation rate is reported next to the number
+ * of operations per second. Accepts the same arguments as the JMH command line, such as a regular
+ * expression selecting the benchmarks to run.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class BenchmarkMain {
+
+    private BenchmarkMain()
+    {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException
+    {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,51 @@
+package game.benchmarks;
+
+import game.ComputerPlayer;
+import game.Game;
+import game.Location;
+import game.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ComputerPlayer.decideMove at fixed depths, replying to a central cannon opening.
+ * Every decision starts with an empty transposition table, so that it does not reuse earlier results.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecideMoveBenchmark {
+
+    @Param({"2", "3", "4", "5"})
+    public int depth;
+
+    private ComputerPlayer player;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Game game = new Game();
+        game.setComputerGame(depth);
+        game.move(game.getPiece(new Location(7, 2)), new Location(4, 2));
+        player = (ComputerPlayer) game.getCurrentPlayer();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable()
+    {
+        player.getTranspositionTable().clear();
+    }
+
+    @Benchmark
+    public Move decideMove()
+    {
+        return player.decideMove();
+    }
+}
@@ -0,0 +1,48 @@
+package game.benchmarks;
+
+import game.Game;
+import game.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Game.evaluateScore, which the search used to call at every leaf, against reading the positional
+ * scores that Position keeps up to date, which the search now uses.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluateBenchmark {
+
+    @Param({"start", "middle"})
+    public String stage;
+
+    private Game game;
+    private Position position;
+
+    @Setup
+    public void setUp()
+    {
+        game = BenchmarkGames.create(stage);
+        position = game.getPosition();
+    }
+
+    @Benchmark
+    public int evaluateScore()
+    {
+        return game.evaluateScore(true);
+    }
+
+    @Benchmark
+    public int positionalScore()
+    {
+        return position.getPositionalScore(true) - position.getPositionalScore(false);
+    }
+}
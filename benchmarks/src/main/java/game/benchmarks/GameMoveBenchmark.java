@@ -0,0 +1,59 @@
+package game.benchmarks;
+
+import game.Game;
+import game.Location;
+import game.Move;
+import game.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures making a move with Game.move and undoing it with Game.undo, cycling through every move
+ * of the current player.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMoveBenchmark {
+
+    @Param({"start", "middle"})
+    public String stage;
+
+    private Game game;
+    private Player player;
+    //The moves are kept as locations, since undo replaces the pieces on the board with copies.
+    private Location[] fromLocations;
+    private Location[] toLocations;
+    private int index;
+
+    @Setup
+    public void setUp()
+    {
+        game = BenchmarkGames.create(stage);
+        player = game.getCurrentPlayer();
+        ArrayList<Move> moves = player.getMoves();
+        fromLocations = new Location[moves.size()];
+        toLocations = new Location[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            fromLocations[i] = moves.get(i).getMoveFromLocation();
+            toLocations[i] = moves.get(i).getMoveToLocation();
+        }
+    }
+
+    @Benchmark
+    public boolean moveAndUndo()
+    {
+        index = index + 1 == fromLocations.length ? 0 : index + 1;
+        boolean moved = game.move(game.getPiece(fromLocations[index]), toLocations[index]);
+        game.undo(player);
+        return moved;
+    }
+}
@@ -0,0 +1,83 @@
+package game.benchmarks;
+
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the packed move generator used by the search, and making and unmaking its moves,
+ * for comparison with Player.getMoves() and Game.move. Check detection is measured both with
+ * MoveGenerator.isInCheck and by generating every capture of the opponent.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGeneratorBenchmark {
+
+    @Param({"start", "middle"})
+    public String stage;
+
+    private Position position;
+    private int[] moves;
+
+    @Setup
+    public void setUp()
+    {
+        position = BenchmarkGames.create(stage).getPosition();
+        moves = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    @Benchmark
+    public int generateMoves()
+    {
+        return MoveGenerator.generateMoves(position, position.isBlackToMove(), moves);
+    }
+
+    @Benchmark
+    public int generateLegalMoves()
+    {
+        return MoveGenerator.generateLegalMoves(position, position.isBlackToMove(), moves);
+    }
+
+    @Benchmark
+    public long makeAndUnmakeAll()
+    {
+        int count = MoveGenerator.generateMoves(position, position.isBlackToMove(), moves);
+        long keys = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            keys += position.getKey();
+            position.unmakeMove(moves[i]);
+        }
+        return keys;
+    }
+
+    @Benchmark
+    public boolean isInCheck()
+    {
+        return MoveGenerator.isInCheck(position, position.isBlackToMove());
+    }
+
+    @Benchmark
+    public boolean isInCheckByCaptures()
+    {
+        boolean isBlack = position.isBlackToMove();
+        int count = MoveGenerator.generateCaptures(position, !isBlack, moves);
+        int general = Position.pieceCode(Position.GENERAL, isBlack);
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.getCaptured(moves[i]) == general) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package game.benchmarks;
+
+import game.Game;
+import game.Location;
+import game.Position;
+import game.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Piece.getMoves() for each type of piece, in a middle game position.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+
+    @Param({"GENERAL", "ADVISOR", "ELEPHANT", "HORSE", "CHARIOT", "CANNON", "SOLDIER"})
+    public String pieceType;
+
+    private Piece piece;
+
+    @Setup
+    public void setUp()
+    {
+        int kind = kindOf(pieceType);
+        Game game = BenchmarkGames.create("middle");
+        for (int i = 0; i < game.getBoardWidth() && piece == null; i++) {
+            for (int j = 0; j < game.getBoardLength() && piece == null; j++) {
+                Piece candidate = game.getPiece(new Location(i, j));
+                if (candidate != null && candidate.getKind() == kind) {
+                    piece = candidate;
+                }
+            }
+        }
+        if (piece == null) {
+            throw new IllegalStateException("There is no " + pieceType + " on the board.");
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Location> getMoves()
+    {
+        return piece.getMoves();
+    }
+
+    private static int kindOf(String pieceType)
+    {
+        switch (pieceType) {
+            case "GENERAL":
+                return Position.GENERAL;
+            case "ADVISOR":
+                return Position.ADVISOR;
+            case "ELEPHANT":
+                return Position.ELEPHANT;
+            case "HORSE":
+                return Position.HORSE;
+            case "CHARIOT":
+                return Position.CHARIOT;
+            case "CANNON":
+                return Position.CANNON;
+            case "SOLDIER":
+                return Position.SOLDIER;
+            default:
+                throw new IllegalArgumentException("Unknown piece type: " + pieceType);
+        }
+    }
+}
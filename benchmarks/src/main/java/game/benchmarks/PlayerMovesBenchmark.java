@@ -0,0 +1,40 @@
+package game.benchmarks;
+
+import game.Move;
+import game.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Player.getMoves(), which generates every move of the current player.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerMovesBenchmark {
+
+    @Param({"start", "middle"})
+    public String stage;
+
+    private Player player;
+
+    @Setup
+    public void setUp()
+    {
+        player = BenchmarkGames.create(stage).getCurrentPlayer();
+    }
+
+    @Benchmark
+    public ArrayList<Move> getMoves()
+    {
+        return player.getMoves();
+    }
+}
@@ -3,10 +3,11 @@ package game;
 import game.pieces.Piece;
 
 /**
- * Represents the game board.
+ * Represents the game board. The pieces on the board are mirrored in a Position, which
+ * answers occupancy queries without going through the locations.
  *
  * @author Lee Seng Poh
- * @version 29-8-2023
+ * @version 18-10-2026
  */
 public class Board {
 
@@ -16,6 +17,8 @@ public class Board {
 
     //Storage for game pieces in a column by row array.
     private Location[][] board;
+    //Compact mirror of the pieces on the board.
+    private Position position;
 
     public Board(int width, int length)
     {
@@ -74,6 +77,7 @@ public class Board {
             Location boardLocation = getLocation(location);
             boardLocation.setPiece(piece);
             piece.setLocation(boardLocation);
+            position.setPiece(getSquare(boardLocation), piece.getCode());
         }
     }
 
@@ -125,6 +129,7 @@ public class Board {
         Piece piece = null;
         if (isWithinBoard(location)) {
             piece = getLocation(location).removePiece();
+            position.clearSquare(getSquare(location));
         }
         return piece;
     }
@@ -137,18 +142,16 @@ public class Board {
      */
     private boolean boardContains(Piece piece)
     {
-        if (piece == null) {
+        if (piece == null || !isWithinBoard(piece.getLocation())) {
             return false;
         }
 
-        for (int i = 0; i < width; i++) {
-            for (int j = 0; j < length; j++) {
-                 if (piece.equals(board[i][j].getPiece())) {
-                     return true;
-                 }
-            }
+        //an equal piece can only be on the same location as the piece.
+        Location location = piece.getLocation();
+        if (position.getPiece(getSquare(location)) != piece.getCode()) {
+            return false;
         }
-        return false;
+        return piece.equals(board[location.getX()][location.getY()].getPiece());
     }
 
     /**
@@ -194,7 +197,7 @@ public class Board {
      */
     public boolean isEmpty(Location location)
     {
-        return getLocation(location).getPiece() == null;
+        return position.isEmpty(getSquare(getLocation(location)));
     }
 
     /**
@@ -239,6 +242,7 @@ public class Board {
      */
     private void setupBoard()
     {
+        position = new Position(width, length);
         board = new Location[width][length];
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < length; j++) {
@@ -272,6 +276,51 @@ public class Board {
     {
         if (isWithinBoard(location)) {
             board[location.getX()][location.getY()] = location;
+            int square = getSquare(location);
+            position.clearSquare(square);
+            if (location.getPiece() != null) {
+                position.setPiece(square, location.getPiece().getCode());
+            }
         }
     }
+
+    /**
+     * Returns the square in the position of this board that has the same coordinates as the
+     * specified location. The location must be within the board.
+     * @param location The location whose square is wanted.
+     * @return The square with the same coordinates as the location.
+     */
+    public int getSquare(Location location)
+    {
+        return position.square(location.getX(), location.getY());
+    }
+
+    /**
+     * Set which side is to move, which is part of the key of this board.
+     * @param isBlackToMove True if it is the black side's turn to move.
+     */
+    public void setBlackToMove(boolean isBlackToMove)
+    {
+        position.setBlackToMove(isBlackToMove);
+    }
+
+    /**
+     * Returns the Zobrist key that identifies the pieces on this board and the side to move.
+     * The key is kept up to date as pieces are placed, moved and removed.
+     * @return The key of this board.
+     */
+    public long getKey()
+    {
+        return position.getKey();
+    }
+
+    /**
+     * Returns the compact position that mirrors the pieces on this board.
+     * The position should not be modified directly, as it would no longer match the board.
+     * @return The position of this board.
+     */
+    public Position getPosition()
+    {
+        return position;
+    }
 }
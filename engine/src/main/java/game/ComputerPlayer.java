@@ -0,0 +1,541 @@
+package game;
+
+import game.book.OpeningBook;
+import game.evaluation.Evaluator;
+import game.evaluation.PieceSquareEvaluator;
+import game.tablebase.Tablebase;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An algorithm that searches for the best move available using a principal variation search, which
+ * is a negamax form of Alpha–beta pruning that searches all but the first move with a null window.
+ * The search makes and unmakes packed moves on a private copy of the position of the game.
+ * It deepens iteratively, searching one step further each time until the maximum ply is reached or
+ * the time or node budget runs out, and plays the best move of the last completed iteration.
+ * At the end of the main search, a quiescence search keeps searching captures until the position is
+ * quiet, so that a position is not scored in the middle of an exchange. Quiet positions are scored by an
+ * Evaluator, which is a PieceSquareEvaluator unless another is set.
+ * Moves are ordered by a MoveOrderer before they are searched, so that cutoffs happen early.
+ * Several threads can search together, either each with its own Searcher sharing the transposition table,
+ * or by splitting the moves of the root position between the threads of a ForkJoinPool.
+ * With an opening book, a book move of the position is played without searching. With an endgame
+ * tablebase, positions below the root with little enough material are scored exactly from the tablebase.
+ * Scores are integers from the point of view of the side to move. The search only plays legal moves, and a
+ * side left without any, whether checkmated or stalemated, has lost and scores -MATE_SCORE right away,
+ * adjusted by the number of moves it takes so that quicker wins are preferred.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Principal_Variation_Search
+ * @version 18-10-2026
+ */
+public class ComputerPlayer extends Player {
+    //The default number of entries in the transposition table.
+    public static final int DEFAULT_TABLE_SIZE = 1 << 20;
+    //The score of capturing the general, which matches its value.
+    public static final int MATE_SCORE = 1000000;
+    //The maximum number of moves from the root the search can reach.
+    public static final int MAX_PLY = 128;
+
+    /**
+     * Receives the results of each iteration of a search as soon as it is completed, for example to
+     * report the progress of the search.
+     */
+    public interface SearchListener {
+        /**
+         * Called after each completed iteration, in the thread that called the search.
+         * @param depth The depth of the iteration.
+         * @param score The score of the iteration, from the point of view of the side to move.
+         * @param nodeCount The number of positions visited so far.
+         * @param principalVariation The principal variation of the iteration.
+         */
+        void iterationCompleted(int depth, int score, long nodeCount, int[] principalVariation);
+    }
+
+    /**
+     * How several threads search together. SHARED_TABLE runs a complete search in every thread, and the
+     * threads only share the transposition table. ROOT_SPLIT divides the moves of the root position
+     * between the threads and shares alpha between them.
+     */
+    public enum SearchMode {
+        SHARED_TABLE,
+        ROOT_SPLIT
+    }
+
+    private final Game game;
+    //maximum number of steps ahead looked when deciding move (not including initial move).
+    private final int ply;
+    //The budget of each decision. A limit of 0 means there is no limit.
+    private long timeLimit;
+    private long nodeLimit;
+    //The number of threads that search together, and how they do it.
+    private int threadCount;
+    private SearchMode searchMode;
+    //The threads of the root split search, kept between searches, or null if they have not been started.
+    private ForkJoinPool pool;
+    //The results of the last search.
+    private long nodeCount;
+    private int completedDepth;
+    //Whether the first step of the quiescence search also searches moves that threaten the general.
+    private boolean quiescenceChecks;
+    //The principal variation and score of the last completed iteration.
+    private int[] principalVariation;
+    private int score;
+    //Results of positions searched before, which are shared between searches.
+    private TranspositionTable transpositionTable;
+    //Receives the results of each iteration, or null if there is none.
+    private SearchListener searchListener;
+    //The control of the search in progress, or null if there is none.
+    private volatile Searcher.Control currentControl;
+    //The book probed before searching, or null if there is none.
+    private OpeningBook openingBook;
+    //The tablebase probed while searching, or null if there is none.
+    private Tablebase tablebase;
+    private Evaluator evaluator;
+    private final Random random;
+
+    /**
+     * Initialises the computer player.
+     * @param isBlack The color of this player.
+     * @param game The game this player is playing.
+     * @param ply The number of steps this computer looks ahead.
+     */
+    public ComputerPlayer(boolean isBlack, Game game, int ply)
+    {
+        super(isBlack);
+        this.game = game;
+        if (ply < 0) {
+            throw new IllegalArgumentException("Ply must be more than 0.");
+        }
+        this.ply = Math.min(ply, MAX_PLY - 1);
+        principalVariation = new int[0];
+        transpositionTable = new TranspositionTable(DEFAULT_TABLE_SIZE);
+        threadCount = 1;
+        searchMode = SearchMode.SHARED_TABLE;
+        random = new Random();
+        evaluator = new PieceSquareEvaluator();
+        setIsComputer(true);
+    }
+
+    /**
+     * Initialises a computer player that does not play a game, and only searches the positions given
+     * to search.
+     * @param isBlack The color of this player.
+     * @param ply The number of steps this computer looks ahead.
+     */
+    public ComputerPlayer(boolean isBlack, int ply)
+    {
+        this(isBlack, null, ply);
+    }
+
+    /**
+     * Set the time this player may spend on deciding a move. The first iteration is always completed.
+     * @param timeLimit The time limit in milliseconds, or 0 for no limit.
+     */
+    public void setTimeLimit(long timeLimit)
+    {
+        if (timeLimit < 0) {
+            throw new IllegalArgumentException("The time limit cannot be negative.");
+        }
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Returns the time this player may spend on deciding a move.
+     * @return The time limit in milliseconds, or 0 if there is no limit.
+     */
+    public long getTimeLimit()
+    {
+        return timeLimit;
+    }
+
+    /**
+     * Set the number of positions this player may search when deciding a move.
+     * The first iteration is always completed.
+     * @param nodeLimit The node limit, or 0 for no limit.
+     */
+    public void setNodeLimit(long nodeLimit)
+    {
+        if (nodeLimit < 0) {
+            throw new IllegalArgumentException("The node limit cannot be negative.");
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Returns the number of positions this player may search when deciding a move.
+     * @return The node limit, or 0 if there is no limit.
+     */
+    public long getNodeLimit()
+    {
+        return nodeLimit;
+    }
+
+    /**
+     * Set whether the quiescence search also searches the quiet moves that threaten the enemy general
+     * in its first step, in addition to captures.
+     * @param quiescenceChecks Whether the quiescence search searches threats to the general.
+     */
+    public void setQuiescenceChecks(boolean quiescenceChecks)
+    {
+        this.quiescenceChecks = quiescenceChecks;
+    }
+
+    /**
+     * Returns whether the quiescence search searches the quiet moves that threaten the enemy general.
+     * @return Whether the quiescence search searches threats to the general.
+     */
+    public boolean isQuiescenceChecks()
+    {
+        return quiescenceChecks;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration of the last search.
+     * @return The depth of the last completed iteration.
+     */
+    public int getCompletedDepth()
+    {
+        return completedDepth;
+    }
+
+    /**
+     * Returns the principal variation of the last completed iteration of the last search, which is the
+     * sequence of packed moves that both sides are expected to play, starting with the move decided.
+     * @return The principal variation of the last search.
+     */
+    public int[] getPrincipalVariation()
+    {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Returns the score of the last completed iteration of the last search, from the point of view of this player.
+     * @return The score of the last search.
+     */
+    public int getScore()
+    {
+        return score;
+    }
+
+    /**
+     * Returns true if the score represents a forced win or loss.
+     * @param score The score to be checked.
+     * @return True if the score is a mate score.
+     */
+    public static boolean isMateScore(int score)
+    {
+        return Math.abs(score) > MATE_SCORE - MAX_PLY;
+    }
+
+    /**
+     * Returns the number of positions visited by the last search.
+     * @return The number of positions visited by the last search.
+     */
+    public long getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Set the transposition table used by this player's search.
+     * @param transpositionTable The transposition table to be used.
+     */
+    public void setTranspositionTable(TranspositionTable transpositionTable)
+    {
+        if (transpositionTable == null) {
+            throw new IllegalArgumentException("The transposition table cannot be null.");
+        }
+        this.transpositionTable = transpositionTable;
+    }
+
+    /**
+     * Returns the transposition table used by this player's search.
+     * @return The transposition table used by this player's search.
+     */
+    public TranspositionTable getTranspositionTable()
+    {
+        return transpositionTable;
+    }
+
+    /**
+     * Set the number of threads that search together when deciding a move. With more than one thread,
+     * every thread searches its own copy of the position and they share the transposition table, so that
+     * the threads benefit from each other's results. The move played is always the one found by the
+     * calling thread, which deepens in the same order as a single-threaded search.
+     * @param threadCount The number of threads, which must be positive.
+     */
+    public void setThreadCount(int threadCount)
+    {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        if (threadCount != this.threadCount) {
+            shutdown();
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Returns the number of threads that search together when deciding a move.
+     * @return The number of threads.
+     */
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    /**
+     * Stops the threads that this player keeps for searching with the ROOT_SPLIT mode. They are started
+     * again by the next search that needs them, so this should be called when the player is no longer used.
+     */
+    public void shutdown()
+    {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Set how several threads search together when deciding a move.
+     * @param searchMode How the threads search together.
+     */
+    public void setSearchMode(SearchMode searchMode)
+    {
+        if (searchMode == null) {
+            throw new IllegalArgumentException("The search mode cannot be null.");
+        }
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Returns how several threads search together when deciding a move.
+     * @return How the threads search together.
+     */
+    public SearchMode getSearchMode()
+    {
+        return searchMode;
+    }
+
+    /**
+     * Set the opening book this player plays from before searching. The book is probed in every position,
+     * and a move is searched for only if the position is not in the book.
+     * @param openingBook The opening book, or null to always search.
+     */
+    public void setOpeningBook(OpeningBook openingBook)
+    {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Returns the opening book this player plays from.
+     * @return The opening book, or null if there is none.
+     */
+    public OpeningBook getOpeningBook()
+    {
+        return openingBook;
+    }
+
+    /**
+     * Set the evaluator that scores the positions at the leaves of the search. Evaluators can be swapped
+     * without changing anything else about the search, so that they can be compared under the same search.
+     * Wrapping an evaluator in an EvaluationCache keeps the search from evaluating the same position twice.
+     * @param evaluator The evaluator of the leaves.
+     */
+    public void setEvaluator(Evaluator evaluator)
+    {
+        if (evaluator == null) {
+            throw new IllegalArgumentException("The evaluator cannot be null.");
+        }
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Returns the evaluator that scores the positions at the leaves of the search.
+     * @return The evaluator of the leaves, which is a PieceSquareEvaluator unless another was set.
+     */
+    public Evaluator getEvaluator()
+    {
+        return evaluator;
+    }
+
+    /**
+     * Set the endgame tablebase probed at every position below the root while searching.
+     * @param tablebase The tablebase, or null to search without one.
+     */
+    public void setTablebase(Tablebase tablebase)
+    {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Returns the endgame tablebase probed while searching.
+     * @return The tablebase, or null if there is none.
+     */
+    public Tablebase getTablebase()
+    {
+        return tablebase;
+    }
+
+    /**
+     * Set the listener that receives the results of each iteration of a search.
+     * @param searchListener The listener, or null to remove it.
+     */
+    public void setSearchListener(SearchListener searchListener)
+    {
+        this.searchListener = searchListener;
+    }
+
+    /**
+     * Asks the search in progress, if any, to stop as soon as possible. The search still completes its
+     * first iteration, so that it has a move to return.
+     */
+    public void stop()
+    {
+        Searcher.Control control = currentControl;
+        if (control != null) {
+            control.requestStop();
+        }
+    }
+
+    /**
+     * Decides the best move for this player by searching a copy of the position of the game, so that
+     * the game itself and its move history are not modified while searching. If the position is in the
+     * opening book, a book move is played instead.
+     * @return The best move found.
+     */
+    public Move decideMove()
+    {
+        if (game == null) {
+            throw new IllegalStateException("this player is not playing a game.");
+        }
+        if (game.getCurrentPlayer() != this) {
+            throw new IllegalStateException("this is not this player's turn.");
+        }
+
+        Position position = game.getPosition();
+        int bestMove = probeBook(position);
+        if (bestMove == PackedMove.NONE) {
+            bestMove = search(position, ply);
+        }
+        Move move = game.toMove(bestMove);
+        if (move == null || !move.canMove()) {
+            throw new IllegalStateException("Error in deciding move.");
+        }
+        return move;
+    }
+
+    /**
+     * Chooses a move of the position from the opening book. If there is one, it becomes the principal
+     * variation of this player, with a score of 0 and no depth searched.
+     * @param position The position to be probed.
+     * @return The book move, or PackedMove.NONE if there is no book or the position is not in it.
+     */
+    private int probeBook(Position position)
+    {
+        if (openingBook == null) {
+            return PackedMove.NONE;
+        }
+        int move = openingBook.probe(position, random);
+        if (move != PackedMove.NONE) {
+            completedDepth = 0;
+            score = 0;
+            nodeCount = 0;
+            principalVariation = new int[] {move};
+        }
+        return move;
+    }
+
+    /**
+     * Searches the specified position for the best move of the side to move, deepening iteratively up to
+     * the specified depth within the time and node budget of this player. The position is not modified.
+     * The depth, score and principal variation of the search can be queried afterwards.
+     * @param position The position to be searched.
+     * @param maxDepth The maximum depth to be searched.
+     * @return The best packed move found, or PackedMove.NONE if the side to move has no moves.
+     */
+    public int search(Position position, int maxDepth)
+    {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("The depth must be positive.");
+        }
+        maxDepth = Math.min(maxDepth, MAX_PLY - 1);
+        Position rootPosition = new Position(position);
+        Searcher.Control control = new Searcher.Control(timeLimit, nodeLimit);
+        currentControl = control;
+        transpositionTable.newSearch();
+        try {
+            if (searchMode == SearchMode.ROOT_SPLIT) {
+                if (pool == null) {
+                    pool = new ForkJoinPool(threadCount);
+                }
+                RootSplitSearch search = new RootSplitSearch(rootPosition, transpositionTable, control,
+                        quiescenceChecks, pool);
+                search.setTablebase(tablebase);
+                search.setEvaluator(evaluator);
+                search.run(maxDepth, searchListener);
+                completedDepth = search.getCompletedDepth();
+                score = search.getScore();
+                principalVariation = search.getPrincipalVariation();
+            } else {
+                searchSharedTable(rootPosition, control, maxDepth);
+            }
+        } finally {
+            currentControl = null;
+        }
+        nodeCount = control.getNodeCount();
+        return principalVariation.length > 0 ? principalVariation[0] : PackedMove.NONE;
+    }
+
+    /**
+     * Searches the position with every thread deepening on its own copy and sharing the transposition table.
+     * The result of the calling thread is used, so that the move played does not depend on the helpers.
+     * @param rootPosition The position to be searched.
+     * @param control The control of the decision.
+     * @param maxDepth The maximum depth to be searched.
+     */
+    private void searchSharedTable(Position rootPosition, Searcher.Control control, int maxDepth)
+    {
+        Searcher[] searchers = new Searcher[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            searchers[i] = new Searcher(new Position(rootPosition), transpositionTable, control, quiescenceChecks);
+            searchers[i].setTablebase(tablebase);
+            searchers[i].setEvaluator(evaluator);
+        }
+        Thread[] helpers = new Thread[threadCount - 1];
+        for (int i = 1; i < threadCount; i++) {
+            Searcher helper = searchers[i];
+            int startDepth = 1 + i % 2;      //helpers start at different depths so that they search different trees.
+            helpers[i - 1] = new Thread(() -> {
+                int depth = startDepth;
+                while (depth <= maxDepth && helper.iterate(depth)) {
+                    depth++;
+                }
+            }, "ComputerPlayer helper " + i);
+            helpers[i - 1].setDaemon(true);
+            helpers[i - 1].start();
+        }
+
+        Searcher main = searchers[0];
+        completedDepth = 0;
+        for (int depth = 1; depth <= maxDepth && main.iterate(depth); depth++) {
+            completedDepth = depth;
+            control.setStoppable();
+            if (searchListener != null) {
+                searchListener.iterationCompleted(depth, main.getScore(), control.getNodeCount(),
+                        main.getPrincipalVariation());
+            }
+        }
+        control.stop();
+        for (Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        score = main.getScore();
+        principalVariation = main.getPrincipalVariation();
+    }
+}
@@ -0,0 +1,213 @@
+package game;
+
+import game.pieces.*;
+
+/**
+ * Converts between Positions and Forsyth–Edwards Notation (FEN) for chinese chess, in which the rows are
+ * listed from Y-coordinates 9 to 0 and each row from X-coordinates 0 to 8. Red pieces are upper case and
+ * black pieces lower case: K for the general, A for an advisor, B or E for an elephant, N or H for a horse,
+ * R for a chariot, C for a cannon and P for a soldier. A digit is that number of empty squares.
+ * The row is followed by the side to move, which is w or r for red and b for black. The remaining fields
+ * are not used by the game and are ignored.
+ * A FEN can be read into a Position, for analysis that only needs the pieces, or into a Board with
+ * its pieces, palaces and river, to be played as a Game.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Forsyth-Edwards_Notation
+ * @version 18-10-2026
+ */
+public final class Fen {
+
+    //The starting position set up by Game.
+    public static final String STARTING_POSITION =
+            "rnbakabnr/9/1c5c1/p1p1p1p1p/9/9/P1P1P1P1P/1C5C1/9/RNBAKABNR w - - 0 1";
+
+    //The letter of each kind of piece, indexed by kind.
+    private static final String LETTERS = " KABNRCP";
+
+    private Fen()
+    {
+    }
+
+    /**
+     * Returns the position described by the FEN.
+     * @param fen The FEN of the position.
+     * @return The position described.
+     * @throws IllegalArgumentException if the FEN is not a valid position of a 9 by 10 board.
+     */
+    public static Position toPosition(String fen)
+    {
+        String[] fields = fen.trim().split("\\s+");
+        String[] rows = fields[0].split("/");
+        if (rows.length != MoveGenerator.LENGTH) {
+            throw new IllegalArgumentException("A FEN must have " + MoveGenerator.LENGTH + " rows: " + fen);
+        }
+
+        Position position = new Position(MoveGenerator.WIDTH, MoveGenerator.LENGTH);
+        for (int i = 0; i < rows.length; i++) {
+            int y = MoveGenerator.LENGTH - 1 - i;
+            int x = 0;
+            for (char c : rows[i].toCharArray()) {
+                if (c >= '1' && c <= '9') {
+                    x += c - '0';
+                } else {
+                    if (x >= MoveGenerator.WIDTH) {
+                        throw new IllegalArgumentException("Row " + (i + 1) + " of the FEN is too long: " + fen);
+                    }
+                    position.setPiece(position.square(x, y), pieceOf(c));
+                    x++;
+                }
+            }
+            if (x != MoveGenerator.WIDTH) {
+                throw new IllegalArgumentException("Row " + (i + 1) + " of the FEN must have "
+                        + MoveGenerator.WIDTH + " squares: " + fen);
+            }
+        }
+
+        if (fields.length > 1) {
+            switch (fields[1]) {
+                case "w":
+                case "r":
+                    break;
+                case "b":
+                    position.setBlackToMove(true);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid side to move: " + fields[1]);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Returns a 9 by 10 board with its palaces and river marked, the pieces described by the FEN
+     * placed on it and the side to move of the FEN. Soldiers beyond the river have crossed it.
+     * @param fen The FEN of the position.
+     * @return The board described.
+     * @throws IllegalArgumentException if the FEN is not a valid position of a 9 by 10 board.
+     */
+    public static Board toBoard(String fen)
+    {
+        Position position = toPosition(fen);
+        Board board = new Board(MoveGenerator.WIDTH, MoveGenerator.LENGTH);
+        Game.setPalace(board);
+        Game.setRiver(board);
+        for (int square = 0; square < position.getSquareCount(); square++) {
+            int code = position.getPiece(square);
+            if (code != Position.EMPTY) {
+                Location location = new Location(position.getX(square), position.getY(square));
+                board.setPiece(createPiece(board, code, location), location);
+            }
+        }
+        board.setBlackToMove(position.isBlackToMove());
+        return board;
+    }
+
+    /**
+     * Returns the FEN of the pieces on the board and the side to move.
+     * @param board The board to be described, which must be 9 by 10.
+     * @return The FEN of the board.
+     */
+    public static String fromBoard(Board board)
+    {
+        return fromPosition(board.getPosition());
+    }
+
+    /**
+     * Returns the FEN of the position, with w or b as the side to move.
+     * @param position The position to be described, which must be of a 9 by 10 board.
+     * @return The FEN of the position.
+     */
+    public static String fromPosition(Position position)
+    {
+        if (position.getWidth() != MoveGenerator.WIDTH || position.getLength() != MoveGenerator.LENGTH) {
+            throw new IllegalArgumentException("Only a " + MoveGenerator.WIDTH + " by " + MoveGenerator.LENGTH
+                    + " board can be written as a FEN.");
+        }
+        StringBuilder fen = new StringBuilder();
+        for (int y = MoveGenerator.LENGTH - 1; y >= 0; y--) {
+            int empty = 0;
+            for (int x = 0; x < MoveGenerator.WIDTH; x++) {
+                int piece = position.getPiece(position.square(x, y));
+                if (piece == Position.EMPTY) {
+                    empty++;
+                } else {
+                    if (empty > 0) {
+                        fen.append(empty);
+                        empty = 0;
+                    }
+                    fen.append(letterOf(piece));
+                }
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (y > 0) {
+                fen.append('/');
+            }
+        }
+        fen.append(position.isBlackToMove() ? " b" : " w").append(" - - 0 1");
+        return fen.toString();
+    }
+
+    /**
+     * Returns a new piece of the specified code for the board, which has crossed the river if it is a
+     * soldier on the opponent's side of the specified location.
+     */
+    private static Piece createPiece(Board board, int code, Location location)
+    {
+        boolean isBlack = Position.isBlack(code);
+        switch (Position.kindOf(code)) {
+            case Position.GENERAL:
+                return new General(board, isBlack);
+            case Position.ADVISOR:
+                return new Advisor(board, isBlack);
+            case Position.ELEPHANT:
+                return new Elephant(board, isBlack);
+            case Position.HORSE:
+                return new Horse(board, isBlack);
+            case Position.CHARIOT:
+                return new Chariot(board, isBlack);
+            case Position.CANNON:
+                return new Cannon(board, isBlack);
+            default:
+                Soldier soldier = new Soldier(board, isBlack);
+                int riverY = MoveGenerator.LENGTH / 2;
+                if (isBlack ? location.getY() < riverY : location.getY() >= riverY) {
+                    soldier.crossRiver();
+                }
+                return soldier;
+        }
+    }
+
+    /**
+     * Returns the piece code of a FEN letter.
+     * @param letter The letter of the piece.
+     * @return The piece code.
+     * @throws IllegalArgumentException if the letter is not of a piece.
+     */
+    public static int pieceOf(char letter)
+    {
+        char upper = Character.toUpperCase(letter);
+        if (upper == 'E') {
+            upper = 'B';
+        } else if (upper == 'H') {
+            upper = 'N';
+        }
+        int kind = LETTERS.indexOf(upper);
+        if (kind < Position.GENERAL) {
+            throw new IllegalArgumentException("Invalid piece in FEN: " + letter);
+        }
+        return Position.pieceCode(kind, Character.isLowerCase(letter));
+    }
+
+    /**
+     * Returns the FEN letter of a piece code.
+     * @param piece The piece code.
+     * @return The letter of the piece.
+     */
+    public static char letterOf(int piece)
+    {
+        char letter = LETTERS.charAt(Position.kindOf(piece));
+        return Position.isBlack(piece) ? Character.toLowerCase(letter) : letter;
+    }
+}
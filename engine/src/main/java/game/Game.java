@@ -8,7 +8,7 @@ import java.util.ArrayList;
  * Represents the match being played.
  *
  * @author Lee Seng Poh
- * @version 21-10-2023
+ * @version 18-10-2026
  */
 public class Game {
 
@@ -16,6 +16,25 @@ public class Game {
     private int currentPlayerIndex;
     private Board board;
     private boolean isOngoing;
+    private MoveListener moveListener;
+    //Preallocated storage for the moves generated to find out whether the current player can move.
+    private final int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+
+    /**
+     * Receives the moves made and undone in a game, such as to record or display them.
+     */
+    public interface MoveListener {
+        /**
+         * Called after a move is made.
+         * @param packedMove The packed move that was made, including the piece it captured.
+         */
+        void moveMade(int packedMove);
+
+        /**
+         * Called after the last move made is undone.
+         */
+        void moveUndone();
+    }
 
     public Game()
     {
@@ -36,9 +55,38 @@ public class Game {
         players.add(redPlayer);
         players.add(blackPlayer);
         this.board = board;
+        updateSideToMove();
         isOngoing = true;
     }
 
+    /**
+     * Initialise a game in the position described by a FEN, with the side to move of the FEN
+     * as the current player. The game is over if either side has no general.
+     * @param fen The FEN of the position.
+     * @throws IllegalArgumentException if the FEN is not a valid position of a 9 by 10 board.
+     */
+    public Game(String fen)
+    {
+        Board fenBoard = Fen.toBoard(fen);
+        Player redPlayer = new Player(false);
+        Player blackPlayer = new Player(true);
+        players = new ArrayList<>();
+        players.add(redPlayer);
+        players.add(blackPlayer);
+        board = fenBoard;
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getLength(); y++) {
+                Piece piece = board.getPiece(new Location(x, y));
+                if (piece != null) {
+                    getPlayer(piece).addPiece(piece);
+                }
+            }
+        }
+        currentPlayerIndex = players.indexOf(getPlayer(board.getPosition().isBlackToMove()));
+        updateSideToMove();
+        checkOngoing();
+    }
+
     /**
      * Set up the game with 2 players and the board.
      */
@@ -69,17 +117,38 @@ public class Game {
      * @param ply The number of steps this computer looks ahead.
      */
     public void setComputerGame(int ply)
+    {
+        setComputerGame(ply, 0);
+    }
+
+    /**
+     * set the game to be a computer game. The computer player is set to be the black player.
+     * The computer player searches deeper until it reaches the specified ply or runs out of time.
+     * @param ply The maximum number of steps this computer looks ahead.
+     * @param timeLimit The time in milliseconds the computer may spend on a move, or 0 for no limit.
+     */
+    public void setComputerGame(int ply, long timeLimit)
     {
         boolean isBlack = true;
         Player player = getPlayer(isBlack);
         int index =players.indexOf(player);
-        Player computerPlayer = new ComputerPlayer(isBlack, this, ply);
+        ComputerPlayer computerPlayer = new ComputerPlayer(isBlack, this, ply);
+        computerPlayer.setTimeLimit(timeLimit);
         for (Piece piece : player.getPieces()) {
             computerPlayer.addPiece(piece);
         }
         players.set(index, computerPlayer);
     }
 
+    /**
+     * Set the listener that is told of every move made and undone in this game.
+     * @param moveListener The listener, or null to remove it.
+     */
+    public void setMoveListener(MoveListener moveListener)
+    {
+        this.moveListener = moveListener;
+    }
+
     /**
      * Get the current player.
      * @return The current player.
@@ -110,6 +179,7 @@ public class Game {
     private void nextPlayer()
     {
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        updateSideToMove();
     }
 
     /**
@@ -121,6 +191,16 @@ public class Game {
             currentPlayerIndex = players.size();
         }
         currentPlayerIndex = currentPlayerIndex - 1;
+        updateSideToMove();
+    }
+
+    /**
+     * Updates the board with the color of the current player, so that the key of the board
+     * includes the side to move.
+     */
+    private void updateSideToMove()
+    {
+        board.setBlackToMove(getCurrentPlayer().isBlack());
     }
 
     /**
@@ -129,10 +209,11 @@ public class Game {
     private void setupBoard()
     {
         board = new Board(9, 10);
-        setPalace();
-        setRiver();
+        setPalace(board);
+        setRiver(board);
         setRedPieces();
         setBlackPieces();
+        updateSideToMove();
     }
 
     /**
@@ -179,7 +260,9 @@ public class Game {
 
     /**
      * Move a piece to a specified location if it is a legal move and it is a piece of the current player.
-     * Returns true if the piece is moved. The game ends if the move captures a general.
+     * Returns true if the piece is moved. On a 9 by 10 board, a move that would leave the general of the
+     * moving side capturable is not legal. The game ends if the move captures a general or leaves the
+     * other player without a legal move.
      * @param piece The piece to be moved.
      * @param location The location to be moved to.
      * @return True if this piece is moved.
@@ -189,6 +272,9 @@ public class Game {
         if (piece == null || !board.isWithinBoard(location)) {
             return false;
         }
+        if (isStandardBoard() && !isLegalMove(piece, location)) {
+            return false;       //the move would leave the general of the moving side capturable.
+        }
 
         Location moveFromLocation = board.getLocation(piece.getLocation());
         Player movingPlayer = getPlayer(piece.isBlack());
@@ -209,13 +295,18 @@ public class Game {
                 capturedPiece = getPiece(location);
             }
 
+            int packedMove = PackedMove.encode(board.getSquare(moveFromLocation), board.getSquare(location),
+                    capturedPiece == null ? Position.EMPTY : capturedPiece.getCode());
             moved = board.move(piece, location);
             if (moved) {
                 if (capturedPiece != null) {
                     getPlayer(capturedPiece.isBlack()).removePiece(capturedPiece);       //remove the piece that was captured.
                 }
-                checkOngoing();
                 nextPlayer();
+                checkOngoing();
+                if (moveListener != null) {
+                    moveListener.moveMade(packedMove);
+                }
 //                if (getCurrentPlayer().isComputer()) {
 //                    moveComputer();
 //                }
@@ -294,6 +385,9 @@ public class Game {
         replaceLocation(move.getMoveFromLocation());
         replaceLocation(move.getMoveToLocation());
         //move.undo();
+        if (moveListener != null) {
+            moveListener.moveUndone();
+        }
         return true;
     }
 
@@ -327,7 +421,9 @@ public class Game {
     }
 
     /**
-     * Checks whether the game is ongoing. If a player has lost, the game is over.
+     * Checks whether the game is ongoing. If a player has lost, the game is over. A player has lost if their
+     * general has been captured or, on a 9 by 10 board, if it is their turn and they have no legal move,
+     * whether they are checkmated or stalemated.
      * Returns true if the game is ongoing.
      * @return True if the game is ongoing.
      */
@@ -341,11 +437,68 @@ public class Game {
                 hasLoser = true;
             }
         }
+        if (!hasLoser && isStandardBoard() && !hasLegalMove()) {
+            getCurrentPlayer().setLost(true);
+            hasLoser = true;
+        }
         isOngoing = !hasLoser;
 
         return isOngoing;
     }
 
+    /**
+     * Returns true if the general of the current player can be captured by the other player.
+     * Only a 9 by 10 board can be checked.
+     * @return True if the current player is in check, or false if the board is not 9 by 10.
+     */
+    public boolean isInCheck()
+    {
+        return isStandardBoard() && MoveGenerator.isInCheck(board.getPosition(), getCurrentPlayer().isBlack());
+    }
+
+    /**
+     * Returns true if the current player is in check and has no legal move, which loses the game.
+     * Only a 9 by 10 board can be checked.
+     * @return True if the current player is checkmated, or false if the board is not 9 by 10.
+     */
+    public boolean isCheckmate()
+    {
+        return isInCheck() && !hasLegalMove();
+    }
+
+    /**
+     * Returns true if the current player is not in check but has no legal move. Unlike in chess, this
+     * also loses the game. Only a 9 by 10 board can be checked.
+     * @return True if the current player is stalemated, or false if the board is not 9 by 10.
+     */
+    public boolean isStalemate()
+    {
+        return isStandardBoard() && !isInCheck() && !hasLegalMove();
+    }
+
+    private boolean hasLegalMove()
+    {
+        //the position of the board is restored after the moves are tested.
+        return MoveGenerator.generateLegalMoves(board.getPosition(), getCurrentPlayer().isBlack(), legalMoves) > 0;
+    }
+
+    /**
+     * Returns true if moving the piece to the location does not leave its general capturable. Whether the
+     * piece can move there at all is left to the rules of the piece.
+     */
+    private boolean isLegalMove(Piece piece, Location location)
+    {
+        Position position = board.getPosition();
+        int to = board.getSquare(location);
+        int packedMove = PackedMove.encode(board.getSquare(piece.getLocation()), to, position.getPiece(to));
+        return MoveGenerator.isLegalMove(position, packedMove);
+    }
+
+    private boolean isStandardBoard()
+    {
+        return board.getWidth() == MoveGenerator.WIDTH && board.getLength() == MoveGenerator.LENGTH;
+    }
+
     /**
      * Returns the winner of the match, or null if the match is still ongoing.
      * @return The winner of the match, or null if the match is still ongoing.
@@ -406,6 +559,53 @@ public class Game {
         return score;
     }
 
+    /**
+     * Returns the Zobrist key of the current position, which identifies the pieces on the board
+     * and the player to move.
+     * @return The key of the current position.
+     */
+    public long getKey()
+    {
+        return board.getKey();
+    }
+
+    /**
+     * Returns the FEN of the current position, with the current player as the side to move.
+     * @return The FEN of the current position.
+     */
+    public String toFen()
+    {
+        return Fen.fromBoard(board);
+    }
+
+    /**
+     * Returns a copy of the compact position of the board, with the current player to move.
+     * Moves made on the copy do not affect this game.
+     * @return A copy of the position of the board.
+     */
+    public Position getPosition()
+    {
+        return new Position(board.getPosition());
+    }
+
+    /**
+     * Returns the move on the board that matches the specified packed move, or null if there is
+     * no piece on the square it moves from.
+     * @param packedMove The packed move to be converted.
+     * @return The matching move, or null if there is no piece to move.
+     */
+    public Move toMove(int packedMove)
+    {
+        Position position = board.getPosition();
+        int from = PackedMove.getFrom(packedMove);
+        int to = PackedMove.getTo(packedMove);
+        Piece piece = getPiece(new Location(position.getX(from), position.getY(from)));
+        if (piece == null) {
+            return null;
+        }
+        return new Move(piece, piece.getLocation(), new Location(position.getX(to), position.getY(to)));
+    }
+
     /**
      * Sets a specified piece on the specified location on the board and add it
      * to the player with the same color as the piece.
@@ -459,9 +659,10 @@ public class Game {
     }
 
     /**
-     * Set the palace locations on the board.
+     * Set the palace locations on the specified 9 by 10 board.
+     * @param board The board to be marked.
      */
-    private void setPalace()
+    static void setPalace(Board board)
     {
         for (int i = 3; i <= 5; i++) {
             for (int j = 0; j < 3; j++) {
@@ -477,9 +678,10 @@ public class Game {
     }
 
     /**
-     * Set the river edge locations on the board.
+     * Set the river edge locations on the specified 9 by 10 board.
+     * @param board The board to be marked.
      */
-    private void setRiver()
+    static void setRiver(Board board)
     {
         for (int i = 0; i < board.getWidth(); i++) {
             for (int j = 4; j <= 5; j++) {
@@ -0,0 +1,520 @@
+package game;
+
+/**
+ * Generates the moves available in a Position of a 9 by 10 chinese chess board without creating any
+ * objects. Moves are written as packed ints into an array supplied by the caller, which should have room
+ * for at least MAX_MOVES moves.
+ * The moves follow the same rules as the pieces in game.pieces, with the palace and the river edge at
+ * their standard locations. A soldier has crossed the river once it is on the opponent's half of the board.
+ * The moves are pseudo-legal, so they may leave the general of the moving side capturable, unless only the
+ * legal moves are generated.
+ * Captures can also be generated on their own, for searches that only look at captures, and whether a
+ * square is attacked or a general is in check can be found without generating any moves.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class MoveGenerator {
+
+    public static final int WIDTH = 9;
+    public static final int LENGTH = 10;
+    //An upper bound of the number of moves a side can have in one position.
+    public static final int MAX_MOVES = 256;
+
+    private static final int[] ORTHOGONAL_X = {1, -1, 0, 0};
+    private static final int[] ORTHOGONAL_Y = {0, 0, 1, -1};
+    private static final int[] DIAGONAL_X = {1, 1, -1, -1};
+    private static final int[] DIAGONAL_Y = {1, -1, 1, -1};
+    private static final int[] HORSE_X = {1, 1, -1, -1, 2, 2, -2, -2};
+    private static final int[] HORSE_Y = {2, -2, 2, -2, 1, -1, 1, -1};
+
+    private MoveGenerator()
+    {
+    }
+
+    /**
+     * Writes all the moves of the specified side into the array, starting from index 0.
+     * @param position The position to generate moves for.
+     * @param isBlack Whether the moves of the black side are generated.
+     * @param moves The array the packed moves are written into.
+     * @return The number of moves written.
+     * @throws IllegalArgumentException if the position is not of a 9 by 10 board.
+     */
+    public static int generateMoves(Position position, boolean isBlack, int[] moves)
+    {
+        return generate(position, isBlack, moves, false);
+    }
+
+    /**
+     * Writes only the moves of the specified side that capture a piece into the array, starting from index 0.
+     * @param position The position to generate captures for.
+     * @param isBlack Whether the captures of the black side are generated.
+     * @param moves The array the packed moves are written into.
+     * @return The number of moves written.
+     * @throws IllegalArgumentException if the position is not of a 9 by 10 board.
+     */
+    public static int generateCaptures(Position position, boolean isBlack, int[] moves)
+    {
+        return generate(position, isBlack, moves, true);
+    }
+
+    /**
+     * Writes only the moves of the specified side that do not leave its own general capturable into the
+     * array, starting from index 0. In chinese chess a side without any such move has lost, whether or not
+     * it is in check.
+     * Most moves cannot expose the general, so only moves that could are made and tested: every move while
+     * in check, moves of the general, moves from or to the file or rank of the general, which could open a
+     * line or add a cannon screen, and moves away from a square diagonally next to it, which could free the
+     * leg of a horse. Pins and checks are therefore not computed in advance: this geometric filter only
+     * decides which moves need to be tested by making them.
+     * @param position The position to generate moves for, which is restored before returning.
+     * @param isBlack Whether the moves of the black side are generated.
+     * @param moves The array the packed moves are written into.
+     * @return The number of moves written, or the number of pseudo-legal moves if the side has no general.
+     * @throws IllegalArgumentException if the position is not of a 9 by 10 board.
+     */
+    public static int generateLegalMoves(Position position, boolean isBlack, int[] moves)
+    {
+        int count = generate(position, isBlack, moves, false);
+        int general = position.findPiece(Position.pieceCode(Position.GENERAL, isBlack));
+        if (general < 0) {
+            return count;
+        }
+        boolean isInCheck = isSquareAttacked(position, general, !isBlack);
+        int legalCount = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if ((!isInCheck && !mayExposeGeneral(move, general)) || isLegal(position, move, general, isBlack)) {
+                moves[legalCount++] = move;
+            }
+        }
+        return legalCount;
+    }
+
+    /**
+     * Returns true if the specified pseudo-legal move does not leave the general of the moving side
+     * capturable.
+     * @param position The position the move is made in, which is restored before returning.
+     * @param move The packed move, which must move a piece.
+     * @return True if the move is legal, or if the moving side has no general.
+     * @throws IllegalArgumentException if the position is not of a 9 by 10 board.
+     */
+    public static boolean isLegalMove(Position position, int move)
+    {
+        checkDimensions(position);
+        boolean isBlack = Position.isBlack(position.getPiece(PackedMove.getFrom(move)));
+        int general = position.findPiece(Position.pieceCode(Position.GENERAL, isBlack));
+        return general < 0 || isLegal(position, move, general, isBlack);
+    }
+
+    private static boolean isLegal(Position position, int move, int general, boolean isBlack)
+    {
+        int from = PackedMove.getFrom(move);
+        int generalSquare = from == general ? PackedMove.getTo(move) : general;
+        position.makeMove(move);
+        boolean isLegal = !isSquareAttacked(position, generalSquare, !isBlack);
+        position.unmakeMove(move);
+        return isLegal;
+    }
+
+    /**
+     * Returns true if the move could leave the general on the specified square capturable when it was not.
+     */
+    private static boolean mayExposeGeneral(int move, int general)
+    {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        int generalX = general % WIDTH;
+        int generalY = general / WIDTH;
+        int fromX = from % WIDTH;
+        int fromY = from / WIDTH;
+        return fromX == generalX || fromY == generalY || to % WIDTH == generalX || to / WIDTH == generalY
+                || (Math.abs(fromX - generalX) == 1 && Math.abs(fromY - generalY) == 1);
+    }
+
+    private static int generate(Position position, boolean isBlack, int[] moves, boolean capturesOnly)
+    {
+        checkDimensions(position);
+        int count = 0;
+        long low = position.getColorLowMask(isBlack);
+        while (low != 0) {
+            int square = Long.numberOfTrailingZeros(low);
+            low &= low - 1;
+            count = generatePieceMoves(position, square, moves, count, capturesOnly);
+        }
+        long high = position.getColorHighMask(isBlack);
+        while (high != 0) {
+            int square = 64 + Long.numberOfTrailingZeros(high);
+            high &= high - 1;
+            count = generatePieceMoves(position, square, moves, count, capturesOnly);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the moves of the piece on the specified square into the array.
+     * @param position The position to generate moves for.
+     * @param square The square of the piece.
+     * @param moves The array the packed moves are written into.
+     * @param count The index to start writing from.
+     * @return The index after the last move written.
+     */
+    public static int generatePieceMoves(Position position, int square, int[] moves, int count)
+    {
+        return generatePieceMoves(position, square, moves, count, false);
+    }
+
+    /**
+     * Writes the moves of the piece on the specified square into the array.
+     * @param position The position to generate moves for.
+     * @param square The square of the piece.
+     * @param moves The array the packed moves are written into.
+     * @param count The index to start writing from.
+     * @param capturesOnly Whether only the moves that capture a piece are written.
+     * @return The index after the last move written.
+     */
+    private static int generatePieceMoves(Position position, int square, int[] moves, int count,
+                                          boolean capturesOnly)
+    {
+        int piece = position.getPiece(square);
+        boolean isBlack = Position.isBlack(piece);
+        int x = square % WIDTH;
+        int y = square / WIDTH;
+
+        switch (Position.kindOf(piece)) {
+            case Position.GENERAL:
+                for (int i = 0; i < 4; i++) {
+                    int newX = x + ORTHOGONAL_X[i];
+                    int newY = y + ORTHOGONAL_Y[i];
+                    if (isPalace(newX, newY)) {
+                        count = addIfLegal(position, square, newX, newY, isBlack, moves, count, capturesOnly);
+                    }
+                }
+                count = addFlyingGeneral(position, square, x, y, isBlack, moves, count);
+                break;
+            case Position.ADVISOR:
+                for (int i = 0; i < 4; i++) {
+                    int newX = x + DIAGONAL_X[i];
+                    int newY = y + DIAGONAL_Y[i];
+                    if (isPalace(newX, newY)) {
+                        count = addIfLegal(position, square, newX, newY, isBlack, moves, count, capturesOnly);
+                    }
+                }
+                break;
+            case Position.ELEPHANT:
+                for (int i = 0; i < 4; i++) {
+                    int midX = x + DIAGONAL_X[i];
+                    int midY = y + DIAGONAL_Y[i];
+                    int newX = midX + DIAGONAL_X[i];
+                    int newY = midY + DIAGONAL_Y[i];
+                    //blocked, or crossing the river.
+                    if (!isWithinBoard(newX, newY) || !position.isEmpty(midY * WIDTH + midX)
+                            || (isRiverEdge(y) && isRiverEdge(midY))) {
+                        continue;
+                    }
+                    count = addIfLegal(position, square, newX, newY, isBlack, moves, count, capturesOnly);
+                }
+                break;
+            case Position.HORSE:
+                for (int i = 0; i < 8; i++) {
+                    int newX = x + HORSE_X[i];
+                    int newY = y + HORSE_Y[i];
+                    if (!isWithinBoard(newX, newY)) {
+                        continue;
+                    }
+                    int blockingSquare = (y + HORSE_Y[i] / 2) * WIDTH + x + HORSE_X[i] / 2;
+                    if (position.isEmpty(blockingSquare)) {
+                        count = addIfLegal(position, square, newX, newY, isBlack, moves, count, capturesOnly);
+                    }
+                }
+                break;
+            case Position.CHARIOT:
+                for (int i = 0; i < 4; i++) {
+                    count = addChariotRay(position, square, x, y, ORTHOGONAL_X[i], ORTHOGONAL_Y[i], isBlack,
+                            moves, count, capturesOnly);
+                }
+                break;
+            case Position.CANNON:
+                for (int i = 0; i < 4; i++) {
+                    count = addCannonRay(position, square, x, y, ORTHOGONAL_X[i], ORTHOGONAL_Y[i], isBlack,
+                            moves, count, capturesOnly);
+                }
+                break;
+            case Position.SOLDIER:
+                int forward = isBlack ? -1 : 1;
+                count = addIfWithinBoard(position, square, x, y + forward, isBlack, moves, count, capturesOnly);
+                if (hasCrossedRiver(y, isBlack)) {
+                    count = addIfWithinBoard(position, square, x + 1, y, isBlack, moves, count, capturesOnly);
+                    count = addIfWithinBoard(position, square, x - 1, y, isBlack, moves, count, capturesOnly);
+                }
+                break;
+            default:
+                break;
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the general of the specified side can be captured by the other side.
+     * @param position The position to be checked, which must be of a 9 by 10 board.
+     * @param isBlack Whether the general of the black side is checked.
+     * @return True if the general is in check, or false if it is not on the board.
+     */
+    public static boolean isInCheck(Position position, boolean isBlack)
+    {
+        int general = position.findPiece(Position.pieceCode(Position.GENERAL, isBlack));
+        return general >= 0 && isSquareAttacked(position, general, !isBlack);
+    }
+
+    /**
+     * Returns true if a piece of the other side on the specified square could be captured by the pieces of
+     * the specified side, without generating their moves. Instead, the square is searched outwards for each
+     * kind of attacker: along the lines for chariots and for cannons with one screen, at the horse moves
+     * with the leg next to the horse empty, and at the squares the other pieces step from.
+     * The flying general only captures the enemy general, so the general attacks along the file it faces
+     * only if the square holds the general of the other side or is empty, which is where that general could
+     * not move to.
+     * @param position The position to be checked, which must be of a 9 by 10 board.
+     * @param square The square to be checked.
+     * @param byBlack Whether the attacking side is black.
+     * @return True if the square is attacked.
+     */
+    public static boolean isSquareAttacked(Position position, int square, boolean byBlack)
+    {
+        int x = square % WIDTH;
+        int y = square / WIDTH;
+        int target = position.getPiece(square);
+        boolean canFly = target == Position.EMPTY || target == Position.pieceCode(Position.GENERAL, !byBlack);
+        int general = Position.pieceCode(Position.GENERAL, byBlack);
+        int chariot = Position.pieceCode(Position.CHARIOT, byBlack);
+        int cannon = Position.pieceCode(Position.CANNON, byBlack);
+
+        for (int i = 0; i < 4; i++) {
+            int dx = ORTHOGONAL_X[i];
+            int dy = ORTHOGONAL_Y[i];
+            int newX = x + dx;
+            int newY = y + dy;
+            boolean isScreened = false;
+            while (isWithinBoard(newX, newY)) {
+                int piece = position.getPiece(newY * WIDTH + newX);
+                if (piece != Position.EMPTY) {
+                    if (isScreened) {
+                        if (piece == cannon) {
+                            return true;
+                        }
+                        break;
+                    }
+                    //the general only flies towards the other side of the board.
+                    boolean isFlying = piece == general && canFly && dy == (newY < LENGTH / 2 ? -1 : 1);
+                    if (piece == chariot || isFlying) {
+                        return true;
+                    }
+                    isScreened = true;
+                }
+                newX += dx;
+                newY += dy;
+            }
+        }
+
+        int horse = Position.pieceCode(Position.HORSE, byBlack);
+        for (int i = 0; i < 8; i++) {
+            int horseX = x - HORSE_X[i];
+            int horseY = y - HORSE_Y[i];
+            if (isWithinBoard(horseX, horseY) && position.getPiece(horseY * WIDTH + horseX) == horse
+                    && position.isEmpty((horseY + HORSE_Y[i] / 2) * WIDTH + horseX + HORSE_X[i] / 2)) {
+                return true;
+            }
+        }
+
+        int soldier = Position.pieceCode(Position.SOLDIER, byBlack);
+        int behind = byBlack ? y + 1 : y - 1;
+        if (isWithinBoard(x, behind) && position.getPiece(behind * WIDTH + x) == soldier) {
+            return true;
+        }
+        if (hasCrossedRiver(y, byBlack)) {
+            if ((x > 0 && position.getPiece(square - 1) == soldier)
+                    || (x < WIDTH - 1 && position.getPiece(square + 1) == soldier)) {
+                return true;
+            }
+        }
+
+        if (isPalace(x, y)) {
+            int advisor = Position.pieceCode(Position.ADVISOR, byBlack);
+            for (int i = 0; i < 4; i++) {
+                int newX = x + ORTHOGONAL_X[i];
+                int newY = y + ORTHOGONAL_Y[i];
+                if (isPalace(newX, newY) && position.getPiece(newY * WIDTH + newX) == general) {
+                    return true;
+                }
+                newX = x + DIAGONAL_X[i];
+                newY = y + DIAGONAL_Y[i];
+                if (isPalace(newX, newY) && position.getPiece(newY * WIDTH + newX) == advisor) {
+                    return true;
+                }
+            }
+        }
+
+        int elephant = Position.pieceCode(Position.ELEPHANT, byBlack);
+        for (int i = 0; i < 4; i++) {
+            int midX = x + DIAGONAL_X[i];
+            int midY = y + DIAGONAL_Y[i];
+            int elephantX = midX + DIAGONAL_X[i];
+            int elephantY = midY + DIAGONAL_Y[i];
+            if (isWithinBoard(elephantX, elephantY) && position.getPiece(elephantY * WIDTH + elephantX) == elephant
+                    && position.isEmpty(midY * WIDTH + midX) && !(isRiverEdge(elephantY) && isRiverEdge(midY))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the moves of a chariot along one direction, up to and including the capture of the first
+     * enemy piece.
+     */
+    private static int addChariotRay(Position position, int from, int x, int y, int dx, int dy,
+                                     boolean isBlack, int[] moves, int count, boolean capturesOnly)
+    {
+        int newX = x + dx;
+        int newY = y + dy;
+        while (isWithinBoard(newX, newY)) {
+            int to = newY * WIDTH + newX;
+            int target = position.getPiece(to);
+            if (target != Position.EMPTY) {
+                if (Position.isBlack(target) != isBlack) {
+                    moves[count++] = PackedMove.encode(from, to, target);
+                }
+                break;
+            }
+            if (!capturesOnly) {
+                moves[count++] = PackedMove.encode(from, to, Position.EMPTY);
+            }
+            newX += dx;
+            newY += dy;
+        }
+        return count;
+    }
+
+    /**
+     * Adds the moves of a cannon along one direction. A cannon moves to empty squares until it is blocked,
+     * and captures the first enemy piece beyond the piece that blocked it.
+     */
+    private static int addCannonRay(Position position, int from, int x, int y, int dx, int dy,
+                                    boolean isBlack, int[] moves, int count, boolean capturesOnly)
+    {
+        int newX = x + dx;
+        int newY = y + dy;
+        while (isWithinBoard(newX, newY) && position.isEmpty(newY * WIDTH + newX)) {
+            if (!capturesOnly) {
+                moves[count++] = PackedMove.encode(from, newY * WIDTH + newX, Position.EMPTY);
+            }
+            newX += dx;
+            newY += dy;
+        }
+        //jump over the blocking piece.
+        newX += dx;
+        newY += dy;
+        while (isWithinBoard(newX, newY)) {
+            int to = newY * WIDTH + newX;
+            int target = position.getPiece(to);
+            if (target != Position.EMPTY) {
+                if (Position.isBlack(target) != isBlack) {
+                    moves[count++] = PackedMove.encode(from, to, target);
+                }
+                break;
+            }
+            newX += dx;
+            newY += dy;
+        }
+        return count;
+    }
+
+    /**
+     * Adds the capture of the enemy general if the two generals face each other with no intervening pieces.
+     */
+    private static int addFlyingGeneral(Position position, int from, int x, int y, boolean isBlack,
+                                        int[] moves, int count)
+    {
+        int dy = y < LENGTH / 2 ? 1 : -1;
+        for (int newY = y + dy; newY >= 0 && newY < LENGTH; newY += dy) {
+            int to = newY * WIDTH + x;
+            int target = position.getPiece(to);
+            if (target != Position.EMPTY) {
+                if (target == Position.pieceCode(Position.GENERAL, !isBlack)) {
+                    moves[count++] = PackedMove.encode(from, to, target);
+                }
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static int addIfWithinBoard(Position position, int from, int x, int y, boolean isBlack,
+                                        int[] moves, int count, boolean capturesOnly)
+    {
+        if (isWithinBoard(x, y)) {
+            count = addIfLegal(position, from, x, y, isBlack, moves, count, capturesOnly);
+        }
+        return count;
+    }
+
+    /**
+     * Adds the move to the coordinates if there is no piece of the same color there, and if it
+     * captures a piece when only captures are wanted. The coordinates must be within the board.
+     */
+    private static int addIfLegal(Position position, int from, int x, int y, boolean isBlack,
+                                  int[] moves, int count, boolean capturesOnly)
+    {
+        int to = y * WIDTH + x;
+        int target = position.getPiece(to);
+        if (target == Position.EMPTY ? !capturesOnly : Position.isBlack(target) != isBlack) {
+            moves[count++] = PackedMove.encode(from, to, target);
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if a soldier of the specified color on the row has crossed the river.
+     * @param y The Y-coordinates of the soldier.
+     * @param isBlack Whether the soldier is black.
+     * @return True if the soldier has crossed the river.
+     */
+    public static boolean hasCrossedRiver(int y, boolean isBlack)
+    {
+        return isBlack ? y < LENGTH / 2 : y >= LENGTH / 2;
+    }
+
+    /**
+     * Returns true if the coordinates are within either palace.
+     * @param x The X-coordinates.
+     * @param y The Y-coordinates.
+     * @return True if the coordinates are within a palace.
+     */
+    public static boolean isPalace(int x, int y)
+    {
+        return x >= 3 && x <= 5 && ((y >= 0 && y <= 2) || (y >= 7 && y <= 9));
+    }
+
+    /**
+     * Returns true if the row is on the edge of the river.
+     * @param y The Y-coordinates.
+     * @return True if the row is on the edge of the river.
+     */
+    public static boolean isRiverEdge(int y)
+    {
+        return y == 4 || y == 5;
+    }
+
+    private static boolean isWithinBoard(int x, int y)
+    {
+        return x >= 0 && x < WIDTH && y >= 0 && y < LENGTH;
+    }
+
+    private static void checkDimensions(Position position)
+    {
+        if (position.getWidth() != WIDTH || position.getLength() != LENGTH) {
+            throw new IllegalArgumentException("Moves can only be generated for a " + WIDTH + " by " + LENGTH
+                    + " board.");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package game;
+
+/**
+ * Orders the packed moves of a position so that the moves most likely to cause a beta-cutoff are
+ * searched first. The move from the transposition table comes first, then captures ordered by
+ * most valuable victim and least valuable attacker, then the killer moves of the same distance
+ * from the root, and finally the other quiet moves ordered by the history heuristic.
+ * Killer moves are quiet moves that caused a cutoff in a sibling position, and the history of a piece
+ * on a square grows whenever a quiet move of that piece to that square causes a cutoff.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Move_Ordering
+ * @version 18-10-2026
+ */
+public class MoveOrderer {
+    //The number of killer moves kept at each distance from the root.
+    public static final int KILLERS_PER_PLY = 2;
+
+    //The scores that place each kind of move above the next.
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int KILLER_SCORE = 1 << 28;
+    //History scores are halved when any of them reaches this limit, so that they stay below killer moves.
+    private static final int HISTORY_LIMIT = 1 << 20;
+    //The value used for the general when ordering captures, so that it is the most valuable victim without
+    //making the general the worst attacker by far.
+    private static final int GENERAL_ORDER_VALUE = 32;
+    private static final int VICTIM_WEIGHT = 64;
+
+    private final int[][] killers;
+    private final int[][] history;
+
+    /**
+     * Initialise a move orderer with no killer moves or history.
+     * @param maxPly The maximum distance from the root of the positions to be ordered.
+     */
+    public MoveOrderer(int maxPly)
+    {
+        if (maxPly < 1) {
+            throw new IllegalArgumentException("The maximum ply must be positive.");
+        }
+        killers = new int[maxPly][KILLERS_PER_PLY];
+        history = new int[Position.PIECE_CODES][Position.MAX_SQUARES];
+    }
+
+    /**
+     * Computes the order score of each move, to be used by selectMove.
+     * @param position The position the moves are made from.
+     * @param moves The list of moves.
+     * @param scores The array the score of each move is written into.
+     * @param count The number of moves in the list.
+     * @param hashMove The best move found before for this position, or PackedMove.NONE if there is none.
+     * @param height The number of moves made from the root.
+     */
+    public void scoreMoves(Position position, int[] moves, int[] scores, int count, int hashMove, int height)
+    {
+        int[] heightKillers = killers[height];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = PackedMove.getFrom(move);
+            if (move == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move)) {
+                scores[i] = CAPTURE_SCORE + mvvLva(PackedMove.getCaptured(move), position.getPiece(from));
+            } else if (move == heightKillers[0]) {
+                scores[i] = KILLER_SCORE;
+            } else if (move == heightKillers[1]) {
+                scores[i] = KILLER_SCORE - 1;
+            } else {
+                scores[i] = history[position.getPiece(from)][PackedMove.getTo(move)];
+            }
+        }
+    }
+
+    /**
+     * Moves the move with the highest score among the moves from the specified index onwards to that index,
+     * and returns it. Selecting one move at a time avoids sorting moves that are never searched after a cutoff.
+     * @param moves The list of moves.
+     * @param scores The order score of each move.
+     * @param count The number of moves in the list.
+     * @param index The index of the move to be selected.
+     * @return The move selected.
+     */
+    public static int selectMove(int[] moves, int[] scores, int count, int index)
+    {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves[best];
+        int score = scores[best];
+        moves[best] = moves[index];
+        scores[best] = scores[index];
+        moves[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    /**
+     * Records a quiet move that caused a beta-cutoff, as a killer move of its distance from the root and
+     * in the history of the piece moved. Captures are not recorded, since they are already searched early.
+     * @param position The position the move was made from, with the move unmade.
+     * @param move The move that caused the cutoff.
+     * @param depth The remaining depth at which the cutoff happened.
+     * @param height The number of moves made from the root.
+     */
+    public void recordCutoff(Position position, int move, int depth, int height)
+    {
+        if (PackedMove.isCapture(move)) {
+            return;
+        }
+        int[] heightKillers = killers[height];
+        if (heightKillers[0] != move) {
+            heightKillers[1] = heightKillers[0];
+            heightKillers[0] = move;
+        }
+
+        int[] pieceHistory = history[position.getPiece(PackedMove.getFrom(move))];
+        int to = PackedMove.getTo(move);
+        pieceHistory[to] += depth * depth;
+        if (pieceHistory[to] >= HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Returns the killer moves recorded at the specified distance from the root, most recent first.
+     * @param height The number of moves made from the root.
+     * @return The killer moves, which are PackedMove.NONE if none has been recorded.
+     */
+    public int[] getKillers(int height)
+    {
+        return killers[height].clone();
+    }
+
+    /**
+     * Returns the history score of a piece moving to a square.
+     * @param piece The code of the piece.
+     * @param square The square moved to.
+     * @return The history score.
+     */
+    public int getHistory(int piece, int square)
+    {
+        return history[piece][square];
+    }
+
+    /**
+     * Removes all killer moves and history.
+     */
+    public void clear()
+    {
+        for (int[] heightKillers : killers) {
+            for (int i = 0; i < KILLERS_PER_PLY; i++) {
+                heightKillers[i] = PackedMove.NONE;
+            }
+        }
+        for (int[] pieceHistory : history) {
+            for (int i = 0; i < pieceHistory.length; i++) {
+                pieceHistory[i] = 0;
+            }
+        }
+    }
+
+    private void ageHistory()
+    {
+        for (int[] pieceHistory : history) {
+            for (int i = 0; i < pieceHistory.length; i++) {
+                pieceHistory[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * Returns the order score of a capture, which is higher for more valuable victims and, among
+     * captures of the same victim, for less valuable attackers.
+     */
+    private static int mvvLva(int victim, int attacker)
+    {
+        return orderValue(victim) * VICTIM_WEIGHT - orderValue(attacker);
+    }
+
+    private static int orderValue(int piece)
+    {
+        int kind = Position.kindOf(piece);
+        return kind == Position.GENERAL ? GENERAL_ORDER_VALUE : Position.getValue(kind);
+    }
+}
@@ -0,0 +1,126 @@
+package game;
+
+/**
+ * Encodes a move on a Position as a single int, so that moves can be stored in preallocated
+ * int arrays instead of as Move objects.
+ * Bits 0-6 hold the square moved from, bits 7-13 the square moved to and bits 14-17 the code of
+ * the captured piece, which is Position.EMPTY if the move does not capture.
+ * No legal move moves a piece onto its own square, so 0 is never a valid move and is used as NONE.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public final class PackedMove {
+
+    //Represents the absence of a move.
+    public static final int NONE = 0;
+
+    private static final int SQUARE_MASK = 0x7F;
+    private static final int PIECE_MASK = 0xF;
+    private static final int TO_SHIFT = 7;
+    private static final int CAPTURED_SHIFT = 14;
+
+    private PackedMove()
+    {
+    }
+
+    /**
+     * Returns the packed representation of a move.
+     * @param from The square moved from.
+     * @param to The square moved to.
+     * @param captured The code of the captured piece, or Position.EMPTY if nothing is captured.
+     * @return The packed move.
+     */
+    public static int encode(int from, int to, int captured)
+    {
+        return from | (to << TO_SHIFT) | (captured << CAPTURED_SHIFT);
+    }
+
+    /**
+     * Returns the square the specified move moves from.
+     * @param move The packed move.
+     * @return The square moved from.
+     */
+    public static int getFrom(int move)
+    {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Returns the square the specified move moves to.
+     * @param move The packed move.
+     * @return The square moved to.
+     */
+    public static int getTo(int move)
+    {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * Returns the code of the piece captured by the specified move.
+     * @param move The packed move.
+     * @return The code of the captured piece, or Position.EMPTY if nothing is captured.
+     */
+    public static int getCaptured(int move)
+    {
+        return (move >>> CAPTURED_SHIFT) & PIECE_MASK;
+    }
+
+    /**
+     * Returns true if the specified move captures a piece.
+     * @param move The packed move.
+     * @return True if the move captures a piece.
+     */
+    public static boolean isCapture(int move)
+    {
+        return getCaptured(move) != Position.EMPTY;
+    }
+
+    /**
+     * Returns the coordinate notation of a move on a 9 by 10 board, such as "h2e2". Files are the letters
+     * a to i from X-coordinates 0 to 8 and ranks are the digits of the Y-coordinates, so that red's
+     * pieces start on ranks 0 to 3.
+     * @param move The packed move.
+     * @return The coordinate notation of the move.
+     */
+    public static String toNotation(int move)
+    {
+        return squareNotation(getFrom(move)) + squareNotation(getTo(move));
+    }
+
+    /**
+     * Returns the packed move with the specified coordinate notation in the position, with the piece on the
+     * square moved to as the captured piece. The move is not checked against the rules of the pieces.
+     * @param notation The coordinate notation of the move, such as "h2e2".
+     * @param position The position the move is made in, which must be of a 9 by 10 board.
+     * @return The packed move.
+     * @throws IllegalArgumentException if the notation is not of a move on a 9 by 10 board.
+     */
+    public static int fromNotation(String notation, Position position)
+    {
+        if (notation.length() != 4) {
+            throw new IllegalArgumentException("Invalid move: " + notation);
+        }
+        int from = squareFromNotation(notation, 0);
+        int to = squareFromNotation(notation, 2);
+        if (from == to) {
+            throw new IllegalArgumentException("Invalid move: " + notation);
+        }
+        return encode(from, to, position.getPiece(to));
+    }
+
+    private static int squareFromNotation(String notation, int index)
+    {
+        int x = notation.charAt(index) - 'a';
+        int y = notation.charAt(index + 1) - '0';
+        if (x < 0 || x >= MoveGenerator.WIDTH || y < 0 || y >= MoveGenerator.LENGTH) {
+            throw new IllegalArgumentException("Invalid move: " + notation);
+        }
+        return y * MoveGenerator.WIDTH + x;
+    }
+
+    private static String squareNotation(int square)
+    {
+        return String.valueOf((char) ('a' + square % MoveGenerator.WIDTH)) + square / MoveGenerator.WIDTH;
+    }
+}
@@ -0,0 +1,176 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the move tree of a position to a fixed depth, which is known as perft.
+ * The counts of a correct move generator match published numbers, so perft finds move generation bugs,
+ * and the time it takes measures the speed of move generation.
+ * Divide reports the count below each move of the position separately, which narrows down a wrong count
+ * to the move responsible for it.
+ * The counts can be taken either with MoveGenerator on a Position, or with the pieces of a Game, so that
+ * the two can be checked against each other.
+ * Both count only legal moves, which do not leave the general capturable, so the counts from the starting
+ * position match the published numbers (44, 1920, 79666, 3290240 and so on).
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Perft
+ * @version 18-10-2026
+ */
+public class Perft {
+
+    private final Position position;
+    //Preallocated storage for the moves generated at each depth.
+    private final int[][] moveBuffers;
+    private long nodeCount;
+
+    /**
+     * Initialise a perft of the specified position.
+     * @param position The position whose move tree is counted. It is copied, so it is not modified.
+     * @param maxDepth The maximum depth that will be counted.
+     */
+    public Perft(Position position, int maxDepth)
+    {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The depth cannot be negative.");
+        }
+        this.position = new Position(position);
+        moveBuffers = new int[maxDepth + 1][MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * Returns the number of leaf nodes of the move tree of the position to the specified depth.
+     * @param depth The depth of the leaf nodes.
+     * @return The number of leaf nodes.
+     */
+    public long perft(int depth)
+    {
+        checkDepth(depth);
+        nodeCount = 0;
+        return count(depth);
+    }
+
+    /**
+     * Returns the number of leaf nodes of the move tree to the specified depth below each move of the position.
+     * @param depth The depth of the leaf nodes, including the move.
+     * @return The number of leaf nodes below each packed move, in the order the moves were generated.
+     */
+    public Map<Integer, Long> divide(int depth)
+    {
+        checkDepth(depth);
+        if (depth < 1) {
+            throw new IllegalArgumentException("The depth of divide must be at least 1.");
+        }
+        nodeCount = 0;
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        int[] moves = moveBuffers[depth];
+        int count = MoveGenerator.generateLegalMoves(position, position.isBlackToMove(), moves);
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            counts.put(moves[i], count(depth - 1));
+            position.unmakeMove(moves[i]);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of positions visited by the last perft or divide, including interior nodes.
+     * @return The number of positions visited.
+     */
+    public long getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    private long count(int depth)
+    {
+        nodeCount++;
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = moveBuffers[depth];
+        int count = MoveGenerator.generateLegalMoves(position, position.isBlackToMove(), moves);
+        if (depth == 1) {
+            nodeCount += count;
+            return count;
+        }
+        long leaves = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            leaves += count(depth - 1);
+            position.unmakeMove(moves[i]);
+        }
+        return leaves;
+    }
+
+    private void checkDepth(int depth)
+    {
+        if (depth < 0 || depth >= moveBuffers.length) {
+            throw new IllegalArgumentException("The depth must be between 0 and " + (moveBuffers.length - 1) + ".");
+        }
+    }
+
+    /**
+     * Returns the number of leaf nodes of the move tree of the game to the specified depth, using the moves
+     * of the pieces of the current player. The moves are made and undone on the game itself.
+     * @param game The game whose move tree is counted.
+     * @param depth The depth of the leaf nodes.
+     * @return The number of leaf nodes.
+     */
+    public static long perft(Game game, int depth)
+    {
+        if (depth < 0) {
+            throw new IllegalArgumentException("The depth cannot be negative.");
+        }
+        if (depth == 0) {
+            return 1;
+        }
+        Player player = game.getCurrentPlayer();
+        ArrayList<Move> moves = player.getMoves();
+        if (depth == 1) {
+            return moves.size();
+        }
+        long leaves = 0;
+        for (Move move : moves) {
+            if (game.move(move)) {
+                leaves += perft(game, depth - 1);
+                game.undo(player);
+            }
+        }
+        return leaves;
+    }
+
+    /**
+     * Counts the move tree of the starting position and prints the count, the time taken and the number of
+     * positions visited per second.
+     * Usage: Perft depth [divide]
+     * @param args The depth, optionally followed by "divide" to print the count below each move.
+     */
+    public static void main(String[] args)
+    {
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].equals("divide"))) {
+            System.err.println("Usage: Perft depth [divide]");
+            System.exit(2);
+        }
+        int depth = Integer.parseInt(args[0]);
+        Perft perft = new Perft(new Game().getPosition(), depth);
+
+        long start = System.nanoTime();
+        long leaves;
+        if (args.length == 2) {
+            leaves = 0;
+            for (Map.Entry<Integer, Long> entry : perft.divide(depth).entrySet()) {
+                System.out.println(PackedMove.toNotation(entry.getKey()) + ": " + entry.getValue());
+                leaves += entry.getValue();
+            }
+        } else {
+            leaves = perft.perft(depth);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("perft(" + depth + ") = " + leaves);
+        System.out.println("time: " + elapsed / 1_000_000 + " ms");
+        System.out.println("nps: " + perft.getNodeCount() * 1_000_000_000L / Math.max(elapsed, 1));
+    }
+}
@@ -0,0 +1,164 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * The value of every piece on every square of the standard 9 by 10 board, which combines the value of the
+ * piece with a bonus for where it stands, such as a horse near the enemy palace or a soldier that has
+ * crossed the river. The general is only given its positional bonus, since the search notices its capture
+ * by itself.
+ * The values are on a finer scale than Piece.getValue(), with a chariot worth about 200 and a soldier
+ * that has not crossed the river about 10. Position keeps the sum of these values for each color up to date
+ * as pieces are placed, moved and captured, so that a positional evaluation costs no more than reading it.
+ *
+ * @author Lee Seng Poh, with reference to https://www.xqbase.com/computer/stepbystep5.htm
+ * @version 18-10-2026
+ */
+public final class PieceSquareTable {
+    public static final int WIDTH = 9;
+    public static final int LENGTH = 10;
+
+    //The tables of red pieces, seen from the red side, with the first row being the far edge of the board.
+    private static final int[] GENERAL = {
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  1,  1,  1,  0,  0,  0,
+            0,  0,  0,  2,  2,  2,  0,  0,  0,
+            0,  0,  0, 11, 15, 11,  0,  0,  0
+    };
+    private static final int[] ADVISOR = {
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0, 20,  0, 20,  0,  0,  0,
+            0,  0,  0,  0, 23,  0,  0,  0,  0,
+            0,  0,  0, 20,  0, 20,  0,  0,  0
+    };
+    private static final int[] ELEPHANT = {
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0, 20,  0,  0,  0, 20,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+           18,  0,  0,  0, 23,  0,  0,  0, 18,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0, 20,  0,  0,  0, 20,  0,  0
+    };
+    private static final int[] HORSE = {
+           90, 90, 90, 96, 90, 96, 90, 90, 90,
+           90, 96,103, 97, 94, 97,103, 96, 90,
+           92, 98, 99,103, 99,103, 99, 98, 92,
+           93,108,100,107,100,107,100,108, 93,
+           90,100, 99,103,104,103, 99,100, 90,
+           90, 98,101,102,103,102,101, 98, 90,
+           92, 94, 98, 95, 98, 95, 98, 94, 92,
+           93, 92, 94, 95, 92, 95, 94, 92, 93,
+           85, 90, 92, 93, 78, 93, 92, 90, 85,
+           88, 85, 90, 88, 90, 88, 90, 85, 88
+    };
+    private static final int[] CHARIOT = {
+          206,208,207,213,214,213,207,208,206,
+          206,212,209,216,233,216,209,212,206,
+          206,208,207,214,216,214,207,208,206,
+          206,213,213,216,216,216,213,213,206,
+          208,211,211,214,215,214,211,211,208,
+          208,212,212,214,215,214,212,212,208,
+          204,209,204,212,214,212,204,209,204,
+          198,208,204,212,212,212,204,208,198,
+          200,208,206,212,200,212,206,208,200,
+          194,206,204,212,200,212,204,206,194
+    };
+    private static final int[] CANNON = {
+          100,100, 96, 91, 90, 91, 96,100,100,
+           98, 98, 96, 92, 89, 92, 96, 98, 98,
+           97, 97, 96, 91, 92, 91, 96, 97, 97,
+           96, 99, 99, 98,100, 98, 99, 99, 96,
+           96, 96, 96, 96,100, 96, 96, 96, 96,
+           95, 96, 99, 96,100, 96, 99, 96, 95,
+           96, 96, 96, 96, 96, 96, 96, 96, 96,
+           97, 96,100, 99,101, 99,100, 96, 97,
+           96, 97, 98, 98, 98, 98, 98, 97, 96,
+           96, 96, 97, 99, 99, 99, 97, 96, 96
+    };
+    private static final int[] SOLDIER = {
+            9,  9,  9, 11, 13, 11,  9,  9,  9,
+           19, 24, 34, 42, 44, 42, 34, 24, 19,
+           19, 24, 32, 37, 37, 37, 32, 24, 19,
+           19, 23, 27, 29, 30, 29, 27, 23, 19,
+           14, 18, 20, 27, 29, 27, 20, 18, 14,
+            7,  0, 13,  0, 16,  0, 13,  0,  7,
+            7,  0,  7,  0, 15,  0,  7,  0,  7,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0,
+            0,  0,  0,  0,  0,  0,  0,  0,  0
+    };
+    private static final int[][] RED_TABLES = {null, GENERAL, ADVISOR, ELEPHANT, HORSE, CHARIOT, CANNON, SOLDIER};
+
+    //The value of each piece code on each square of the standard board, with y = 0 being the red side.
+    private static final int[][] VALUES = new int[Position.PIECE_CODES][WIDTH * LENGTH];
+
+    static {
+        for (int piece = 0; piece < Position.PIECE_CODES; piece++) {
+            if (!Position.isPiece(piece)) {
+                continue;
+            }
+            int[] table = RED_TABLES[Position.kindOf(piece)];
+            for (int y = 0; y < LENGTH; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    //black pieces use the table of the red pieces with the board turned around.
+                    int row = Position.isBlack(piece) ? y : LENGTH - 1 - y;
+                    int column = Position.isBlack(piece) ? WIDTH - 1 - x : x;
+                    VALUES[piece][y * WIDTH + x] = table[row * WIDTH + column];
+                }
+            }
+        }
+    }
+
+    private PieceSquareTable()
+    {
+    }
+
+    /**
+     * Returns the value of a piece on a square of the standard board.
+     * @param piece The code of the piece.
+     * @param square The square, numbered as in Position.
+     * @return The value of the piece on the square.
+     */
+    public static int getValue(int piece, int square)
+    {
+        return VALUES[piece][square];
+    }
+
+    /**
+     * Returns the values of every piece code on every square of a board with the specified dimensions,
+     * indexed by piece code and then by square. Boards other than the standard board have no positional
+     * bonuses, so every piece is worth its value from Position.getValue on every square.
+     * @param width The horizontal width of the board.
+     * @param length The vertical length of the board.
+     * @return The values, which must not be modified.
+     */
+    static int[][] valuesOf(int width, int length)
+    {
+        if (width == WIDTH && length == LENGTH) {
+            return VALUES;
+        }
+        int[][] values = new int[Position.PIECE_CODES][width * length];
+        for (int piece = 0; piece < Position.PIECE_CODES; piece++) {
+            if (Position.isPiece(piece) && Position.kindOf(piece) != Position.GENERAL) {
+                Arrays.fill(values[piece], Position.getValue(Position.kindOf(piece)));
+            }
+        }
+        return values;
+    }
+}
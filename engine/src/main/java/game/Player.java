@@ -19,6 +19,8 @@ public class Player {
     private boolean lost;
     private Stack<Move> pastMoves;
     private ArrayList<Piece> pieces;
+    //The board the pieces of this player are on, or null if the player has no pieces yet.
+    private Board board;
 
     /**
      * Initialise the player with their color.
@@ -112,6 +114,7 @@ public class Player {
         boolean sameColor = false;
         if (piece != null && piece.isBlack() ==  this.isBlack) {
             pieces.add(piece);
+            board = piece.getBoard();
             sameColor = true;
         }
         return sameColor;
@@ -187,32 +190,64 @@ public class Player {
     }
 
     /**
-     * Returns all the legal moves this player currently has.
+     * Returns all the legal moves this player currently has. On a 9 by 10 board, the moves that would leave
+     * the general of this player capturable are left out. Pins and checks are not worked out in advance:
+     * each move is tested on the position of the board with MoveGenerator.isLegalMove, which restores it.
      * @return All the legal moves this player currently has.
      */
     public ArrayList<Move> getMoves()
     {
+        Position position = getTestedPosition();
         ArrayList<Move> moves = new ArrayList<>();
         for (Piece piece : pieces) {
-            moves.addAll(getPieceMoves(piece));
+            addPieceMoves(piece, position, moves);
         }
         return moves;
     }
 
     /**
-     * Returns all the moves of the specified piece.
+     * Returns the legal moves of the specified piece, which are left out in the same way as by getMoves().
+     * @param piece The piece of this player whose moves are wanted.
+     * @return The legal moves of the piece.
+     */
+    public ArrayList<Move> getMoves(Piece piece)
+    {
+        ArrayList<Move> moves = new ArrayList<>();
+        addPieceMoves(piece, getTestedPosition(), moves);
+        return moves;
+    }
+
+    /**
+     * Returns the position of the board that moves are tested on, or null if the board is not 9 by 10.
+     */
+    private Position getTestedPosition()
+    {
+        if (board != null && board.getWidth() == MoveGenerator.WIDTH && board.getLength() == MoveGenerator.LENGTH) {
+            return board.getPosition();
+        }
+        return null;
+    }
+
+    /**
+     * Adds the moves of the specified piece to a list.
      * @param piece The piece whose move is wanted.
-     * @return All the moves of the specified piece.
+     * @param position The position of the board the moves are tested on, or null if they are not tested.
+     * @param moves The list the moves are added to.
      */
-    private ArrayList<Move> getPieceMoves(Piece piece)
+    private void addPieceMoves(Piece piece, Position position, ArrayList<Move> moves)
     {
         Location pieceLocation = piece.getLocation();
-        ArrayList<Move> moves = new ArrayList<>();
         for (Location newLocation : piece.getMoves()) {
+            if (position != null) {
+                int to = board.getSquare(newLocation);
+                int packedMove = PackedMove.encode(board.getSquare(pieceLocation), to, position.getPiece(to));
+                if (!MoveGenerator.isLegalMove(position, packedMove)) {
+                    continue;
+                }
+            }
             Move move = new Move(piece, pieceLocation, newLocation);
             moves.add(move);
         }
-        return moves;
     }
 
     /**
@@ -0,0 +1,524 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * A compact representation of the pieces on a board. Each kind of piece of each color has a
+ * 128-bit occupancy mask stored as a pair of longs, and every square also records the piece on it
+ * so that it can be looked up directly.
+ * Squares are numbered row by row, so the square with the coordinates (x, y) is y * width + x.
+ * Bit n of the low mask marks square n, and bit n of the high mask marks square n + 64.
+ * Moves are made and unmade incrementally, touching only the squares involved, so a search can walk
+ * the game tree on a single position.
+ * Each position is identified by a 64-bit Zobrist key of its pieces, their squares and the side to move,
+ * which is updated incrementally whenever a square or the side to move changes. The keys are generated
+ * from a fixed seed, so the same position has the same key in every run.
+ * The positional score of each color, which is the sum of the values of its pieces from PieceSquareTable,
+ * is updated incrementally in the same way.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class Position {
+
+    //The largest number of squares that a pair of longs can represent.
+    public static final int MAX_SQUARES = 128;
+
+    //The kinds of pieces. A piece is encoded as its kind, with BLACK added if it is a black piece.
+    public static final int EMPTY = 0;
+    public static final int GENERAL = 1;
+    public static final int ADVISOR = 2;
+    public static final int ELEPHANT = 3;
+    public static final int HORSE = 4;
+    public static final int CHARIOT = 5;
+    public static final int CANNON = 6;
+    public static final int SOLDIER = 7;
+    public static final int BLACK = 8;
+    //The number of piece codes, including the unused codes 0 and 8.
+    public static final int PIECE_CODES = 16;
+    //The value of each kind of piece, matching Piece.getValue(). A soldier gains SOLDIER_CROSSED_BONUS
+    //after crossing the river.
+    private static final int[] VALUES = {0, 1000000, 4, 4, 8, 18, 9, 2};
+    private static final int SOLDIER_CROSSED_BONUS = 2;
+    //Random keys for each piece code on each square, and for black being the side to move.
+    private static final long[][] PIECE_KEYS = new long[PIECE_CODES][MAX_SQUARES];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(0x5EED_C0DEL);
+        for (int piece = 0; piece < PIECE_CODES; piece++) {
+            for (int square = 0; square < MAX_SQUARES; square++) {
+                PIECE_KEYS[piece][square] = random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private final int width;
+    private final int length;
+    //The piece code on each square.
+    private final byte[] squares;
+    //Occupancy masks indexed by piece code. The unused codes 0 and 8 hold the occupancy of
+    //all red and all black pieces respectively.
+    private final long[] lowMasks;
+    private final long[] highMasks;
+    //The squares on the opponent's half of the board, indexed by color like the occupancy masks.
+    private final long[] crossedLowMasks;
+    private final long[] crossedHighMasks;
+    //The value of each piece code on each square, and the sum of the values of the pieces of each color.
+    private final int[][] squareValues;
+    private int redScore;
+    private int blackScore;
+    private boolean isBlackToMove;
+    private long key;
+
+    /**
+     * Initialise an empty position with the specified dimensions.
+     * @param width The horizontal width of the board.
+     * @param length The vertical length of the board.
+     * @throws IllegalArgumentException if the board has no squares or more than 128 squares.
+     */
+    public Position(int width, int length)
+    {
+        if (width < 1 || length < 1) {
+            throw new IllegalArgumentException("Width and length must be more than 1.");
+        } else if (width * length > MAX_SQUARES) {
+            throw new IllegalArgumentException("A position cannot have more than " + MAX_SQUARES + " squares.");
+        }
+        this.width = width;
+        this.length = length;
+        squares = new byte[width * length];
+        lowMasks = new long[PIECE_CODES];
+        highMasks = new long[PIECE_CODES];
+        crossedLowMasks = new long[PIECE_CODES];
+        crossedHighMasks = new long[PIECE_CODES];
+        setCrossedMasks();
+        squareValues = PieceSquareTable.valuesOf(width, length);
+        isBlackToMove = false;
+        key = 0;
+    }
+
+    public Position(Position position)
+    {
+        this.width = position.width;
+        this.length = position.length;
+        this.squares = position.squares.clone();
+        this.lowMasks = position.lowMasks.clone();
+        this.highMasks = position.highMasks.clone();
+        this.crossedLowMasks = position.crossedLowMasks;
+        this.crossedHighMasks = position.crossedHighMasks;
+        this.squareValues = position.squareValues;
+        this.redScore = position.redScore;
+        this.blackScore = position.blackScore;
+        this.isBlackToMove = position.isBlackToMove;
+        this.key = position.key;
+    }
+
+    /**
+     * Marks the squares of each half of the board in the crossed masks of the opposing color.
+     */
+    private void setCrossedMasks()
+    {
+        for (int square = 0; square < squares.length; square++) {
+            int color = getY(square) < length / 2 ? BLACK : 0;
+            if (square < 64) {
+                crossedLowMasks[color] |= 1L << square;
+            } else {
+                crossedHighMasks[color] |= 1L << (square - 64);
+            }
+        }
+    }
+
+    /**
+     * Returns the horizontal width of the board.
+     * @return The horizontal width of the board.
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Returns the vertical length of the board.
+     * @return The vertical length of the board.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns the number of squares on the board.
+     * @return The number of squares on the board.
+     */
+    public int getSquareCount()
+    {
+        return squares.length;
+    }
+
+    /**
+     * Returns the square with the specified coordinates.
+     * @param x The X-coordinates.
+     * @param y The Y-coordinates.
+     * @return The square with the specified coordinates.
+     */
+    public int square(int x, int y)
+    {
+        return y * width + x;
+    }
+
+    /**
+     * Returns the X-coordinates of the specified square.
+     * @param square The square to be queried.
+     * @return The X-coordinates of the square.
+     */
+    public int getX(int square)
+    {
+        return square % width;
+    }
+
+    /**
+     * Returns the Y-coordinates of the specified square.
+     * @param square The square to be queried.
+     * @return The Y-coordinates of the square.
+     */
+    public int getY(int square)
+    {
+        return square / width;
+    }
+
+    /**
+     * Returns true if the coordinates are within the bounds of the board.
+     * @param x The X-coordinates.
+     * @param y The Y-coordinates.
+     * @return True if the coordinates are within the bounds of the board.
+     */
+    public boolean isWithinBoard(int x, int y)
+    {
+        return x >= 0 && x < width && y >= 0 && y < length;
+    }
+
+    /**
+     * Returns true if it is the black side's turn to move.
+     * @return True if it is the black side's turn to move.
+     */
+    public boolean isBlackToMove()
+    {
+        return isBlackToMove;
+    }
+
+    /**
+     * Set which side is to move.
+     * @param isBlackToMove True if it is the black side's turn to move.
+     */
+    public void setBlackToMove(boolean isBlackToMove)
+    {
+        if (this.isBlackToMove != isBlackToMove) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        this.isBlackToMove = isBlackToMove;
+    }
+
+    /**
+     * Returns the Zobrist key of this position, which identifies its pieces and the side to move.
+     * @return The Zobrist key of this position.
+     */
+    public long getKey()
+    {
+        return key;
+    }
+
+    /**
+     * Makes the specified move and passes the turn to the other side. The move must have been generated
+     * for this position, as it is not checked.
+     * @param move The packed move to be made.
+     */
+    public void makeMove(int move)
+    {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        int captured = PackedMove.getCaptured(move);
+        int piece = squares[from];
+
+        if (captured != EMPTY) {
+            toggle(captured, to);
+        }
+        squares[from] = EMPTY;
+        squares[to] = (byte) piece;
+        toggle(piece, from);
+        toggle(piece, to);
+        isBlackToMove = !isBlackToMove;
+        key ^= BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Takes back the specified move, which must be the last move made on this position.
+     * The captured piece is restored from the move itself.
+     * @param move The packed move to be taken back.
+     */
+    public void unmakeMove(int move)
+    {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        int captured = PackedMove.getCaptured(move);
+        int piece = squares[to];
+
+        toggle(piece, to);
+        toggle(piece, from);
+        squares[from] = (byte) piece;
+        squares[to] = (byte) captured;
+        if (captured != EMPTY) {
+            toggle(captured, to);
+        }
+        isBlackToMove = !isBlackToMove;
+        key ^= BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Returns the combined value of the pieces of a color, using the same values as Piece.getValue().
+     * @param isBlack Whether the pieces are black.
+     * @return The combined value of the pieces of the color.
+     */
+    public int getMaterial(boolean isBlack)
+    {
+        int color = isBlack ? BLACK : 0;
+        int material = 0;
+        for (int kind = GENERAL; kind <= SOLDIER; kind++) {
+            material += count(color | kind) * VALUES[kind];
+        }
+        return material + countCrossedSoldiers(isBlack) * SOLDIER_CROSSED_BONUS;
+    }
+
+    /**
+     * Returns the number of soldiers of a color on the opponent's half of the board.
+     * @param isBlack Whether the soldiers are black.
+     * @return The number of soldiers of the color that have crossed the river.
+     */
+    public int countCrossedSoldiers(boolean isBlack)
+    {
+        int color = isBlack ? BLACK : 0;
+        int soldier = color | SOLDIER;
+        return Long.bitCount(lowMasks[soldier] & crossedLowMasks[color])
+                + Long.bitCount(highMasks[soldier] & crossedHighMasks[color]);
+    }
+
+    /**
+     * Returns the combined value of the pieces of a color on their squares, from PieceSquareTable.
+     * It is kept up to date as moves are made, so reading it costs nothing.
+     * @param isBlack Whether the pieces are black.
+     * @return The positional score of the color.
+     */
+    public int getPositionalScore(boolean isBlack)
+    {
+        return isBlack ? blackScore : redScore;
+    }
+
+    /**
+     * Returns the code of the piece on the specified square, or EMPTY if there is none.
+     * @param square The square to be queried.
+     * @return The code of the piece on the square.
+     */
+    public int getPiece(int square)
+    {
+        return squares[square];
+    }
+
+    /**
+     * Returns true if the specified square does not contain a piece.
+     * @param square The square to be checked.
+     * @return True if the square does not contain a piece.
+     */
+    public boolean isEmpty(int square)
+    {
+        return squares[square] == EMPTY;
+    }
+
+    /**
+     * Places the specified piece on a square, replacing any piece that is already there.
+     * @param square The square the piece is placed on.
+     * @param piece The code of the piece to be placed.
+     * @throws IllegalArgumentException if the piece code does not represent a piece.
+     */
+    public void setPiece(int square, int piece)
+    {
+        if (!isPiece(piece)) {
+            throw new IllegalArgumentException("Invalid piece code: " + piece);
+        }
+        clearSquare(square);
+        squares[square] = (byte) piece;
+        toggle(piece, square);
+    }
+
+    /**
+     * Removes any piece from the specified square.
+     * @param square The square to be emptied.
+     * @return The code of the piece that was removed, or EMPTY if there was none.
+     */
+    public int clearSquare(int square)
+    {
+        int piece = squares[square];
+        if (piece != EMPTY) {
+            squares[square] = EMPTY;
+            toggle(piece, square);
+        }
+        return piece;
+    }
+
+    /**
+     * Flips the bit of the specified square in the mask of the piece and the mask of its color,
+     * and updates the key and the positional score of the color with the piece on that square.
+     * @param piece The code of the piece.
+     * @param square The square to be flipped.
+     */
+    private void toggle(int piece, int square)
+    {
+        key ^= PIECE_KEYS[piece][square];
+        int color = piece & BLACK;
+        boolean isAdded;
+        if (square < 64) {
+            long bit = 1L << square;
+            isAdded = (lowMasks[piece] & bit) == 0;
+            lowMasks[piece] ^= bit;
+            lowMasks[color] ^= bit;
+        } else {
+            long bit = 1L << (square - 64);
+            isAdded = (highMasks[piece] & bit) == 0;
+            highMasks[piece] ^= bit;
+            highMasks[color] ^= bit;
+        }
+        int value = isAdded ? squareValues[piece][square] : -squareValues[piece][square];
+        if (color == BLACK) {
+            blackScore += value;
+        } else {
+            redScore += value;
+        }
+    }
+
+    /**
+     * Returns the number of the specified piece on the board.
+     * @param piece The code of the piece to be counted.
+     * @return The number of the piece on the board.
+     */
+    public int count(int piece)
+    {
+        return Long.bitCount(lowMasks[piece]) + Long.bitCount(highMasks[piece]);
+    }
+
+    /**
+     * Returns the lowest square occupied by the specified piece, or -1 if it is not on the board.
+     * @param piece The code of the piece to be found.
+     * @return The lowest square of the piece, or -1 if it is not on the board.
+     */
+    public int findPiece(int piece)
+    {
+        if (lowMasks[piece] != 0) {
+            return Long.numberOfTrailingZeros(lowMasks[piece]);
+        } else if (highMasks[piece] != 0) {
+            return 64 + Long.numberOfTrailingZeros(highMasks[piece]);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the lower 64 bits of the occupancy mask of the specified piece.
+     * @param piece The code of the piece.
+     * @return The lower 64 bits of the occupancy mask.
+     */
+    public long getLowMask(int piece)
+    {
+        return lowMasks[piece];
+    }
+
+    /**
+     * Returns the upper bits of the occupancy mask of the specified piece.
+     * @param piece The code of the piece.
+     * @return The upper bits of the occupancy mask.
+     */
+    public long getHighMask(int piece)
+    {
+        return highMasks[piece];
+    }
+
+    /**
+     * Returns the lower 64 bits of the occupancy mask of all the pieces of a color.
+     * @param isBlack Whether the pieces are black.
+     * @return The lower 64 bits of the occupancy mask of the color.
+     */
+    public long getColorLowMask(boolean isBlack)
+    {
+        return lowMasks[isBlack ? BLACK : 0];
+    }
+
+    /**
+     * Returns the upper bits of the occupancy mask of all the pieces of a color.
+     * @param isBlack Whether the pieces are black.
+     * @return The upper bits of the occupancy mask of the color.
+     */
+    public long getColorHighMask(boolean isBlack)
+    {
+        return highMasks[isBlack ? BLACK : 0];
+    }
+
+    /**
+     * Returns the total number of pieces of a color on the board.
+     * @param isBlack Whether the pieces are black.
+     * @return The number of pieces of the color.
+     */
+    public int countColor(boolean isBlack)
+    {
+        return count(isBlack ? BLACK : 0);
+    }
+
+    /**
+     * Returns the value of a kind of piece, which is the same as Piece.getValue() for a soldier that has
+     * not crossed the river.
+     * @param kind The kind of the piece.
+     * @return The value of the kind of piece.
+     */
+    public static int getValue(int kind)
+    {
+        return VALUES[kind];
+    }
+
+    /**
+     * Returns the piece code of a kind of piece with the specified color.
+     * @param kind The kind of the piece.
+     * @param isBlack Whether the piece is black.
+     * @return The piece code.
+     */
+    public static int pieceCode(int kind, boolean isBlack)
+    {
+        return isBlack ? kind | BLACK : kind;
+    }
+
+    /**
+     * Returns the kind of the specified piece code.
+     * @param piece The piece code.
+     * @return The kind of the piece.
+     */
+    public static int kindOf(int piece)
+    {
+        return piece & ~BLACK;
+    }
+
+    /**
+     * Returns true if the specified piece code is a black piece.
+     * @param piece The piece code.
+     * @return True if the piece is black.
+     */
+    public static boolean isBlack(int piece)
+    {
+        return (piece & BLACK) != 0;
+    }
+
+    /**
+     * Returns true if the specified code represents a piece.
+     * @param piece The code to be checked.
+     * @return True if the code represents a piece.
+     */
+    public static boolean isPiece(int piece)
+    {
+        int kind = kindOf(piece);
+        return piece >= 0 && piece < PIECE_CODES && kind >= GENERAL && kind <= SOLDIER;
+    }
+}
@@ -0,0 +1,217 @@
+package game;
+
+import game.evaluation.Evaluator;
+import game.tablebase.Tablebase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A search that deepens iteratively and splits the moves of the root position between the threads of a
+ * ForkJoinPool. In each iteration, the first move is searched alone to set alpha. The remaining moves are
+ * then divided into tasks, and each task searches its moves on the private position of the Searcher of
+ * its thread. Alpha is shared between the tasks through an atomic, so that a task benefits from the best
+ * score found by the others. A move is first searched with a null window, and searched again with a full
+ * window only if it may be better than alpha.
+ * The pool is owned by the ComputerPlayer and kept between searches, so that no threads are started for
+ * each move.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class RootSplitSearch {
+    private final Position rootPosition;
+    private final TranspositionTable transpositionTable;
+    private final Searcher.Control control;
+    private final boolean quiescenceChecks;
+    private final ForkJoinPool pool;
+    //The tablebase probed by every searcher, or null if there is none.
+    private Tablebase tablebase;
+    //The evaluator of every searcher, or null to keep the default of Searcher.
+    private Evaluator evaluator;
+    //The results of the last completed iteration.
+    private int completedDepth;
+    private int score;
+    private int[] principalVariation;
+
+    /**
+     * Initialise a search of the specified position.
+     * @param rootPosition The position to be searched, which is not modified.
+     * @param transpositionTable The transposition table shared by the threads.
+     * @param control The control of the decision.
+     * @param quiescenceChecks Whether the quiescence search searches threats to the general.
+     * @param pool The pool whose threads search the moves, which is not shut down by this search.
+     */
+    RootSplitSearch(Position rootPosition, TranspositionTable transpositionTable, Searcher.Control control,
+                    boolean quiescenceChecks, ForkJoinPool pool)
+    {
+        this.rootPosition = rootPosition;
+        this.transpositionTable = transpositionTable;
+        this.control = control;
+        this.quiescenceChecks = quiescenceChecks;
+        this.pool = pool;
+        principalVariation = new int[0];
+    }
+
+    /**
+     * Set the evaluator that the searchers score their leaves with.
+     * @param evaluator The evaluator, or null to keep the default of Searcher.
+     */
+    void setEvaluator(Evaluator evaluator)
+    {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Set the endgame tablebase probed by the searchers.
+     * @param tablebase The tablebase, or null if there is none.
+     */
+    void setTablebase(Tablebase tablebase)
+    {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Deepens iteratively up to the maximum depth, or until the control stops the search.
+     * @param maxDepth The maximum depth to be searched.
+     * @param listener The listener of each completed iteration, or null if there is none.
+     */
+    void run(int maxDepth, ComputerPlayer.SearchListener listener)
+    {
+        ThreadLocal<Searcher> searchers = ThreadLocal.withInitial(this::newSearcher);
+        Searcher main = newSearcher();
+        int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int firstMove = principalVariation.length > 0 ? principalVariation[0] : PackedMove.NONE;
+            int count = main.generateRootMoves(rootMoves, firstMove);
+            if (count == 0) {
+                break;
+            }
+            int firstScore = main.searchMove(rootMoves[0], -Searcher.INFINITY, Searcher.INFINITY, depth);
+            if (control.isStopped()) {
+                break;
+            }
+            RootResult best = new RootResult(firstScore, main.getLine());
+            if (count > 1) {
+                AtomicInteger alpha = new AtomicInteger(firstScore);
+                RootResult rest = pool.invoke(new RootTask(rootMoves, 1, count, depth, alpha, searchers));
+                if (control.isStopped()) {
+                    break;
+                }
+                best = RootResult.better(best, rest);
+            }
+            completedDepth = depth;
+            score = best.score;
+            principalVariation = best.line;
+            control.setStoppable();
+            if (listener != null) {
+                listener.iterationCompleted(depth, score, control.getNodeCount(), principalVariation.clone());
+            }
+        }
+    }
+
+    int getCompletedDepth()
+    {
+        return completedDepth;
+    }
+
+    int getScore()
+    {
+        return score;
+    }
+
+    int[] getPrincipalVariation()
+    {
+        return principalVariation.clone();
+    }
+
+    private Searcher newSearcher()
+    {
+        Searcher searcher = new Searcher(new Position(rootPosition), transpositionTable, control, quiescenceChecks);
+        searcher.setTablebase(tablebase);
+        if (evaluator != null) {
+            searcher.setEvaluator(evaluator);
+        }
+        return searcher;
+    }
+
+    /**
+     * The exact score of a root move and its line.
+     */
+    private static final class RootResult {
+        private final int score;
+        private final int[] line;
+
+        private RootResult(int score, int[] line)
+        {
+            this.score = score;
+            this.line = line;
+        }
+
+        /**
+         * Returns the result with the higher score, preferring the first on a tie. Either may be null,
+         * which means none of its moves were better than alpha.
+         */
+        private static RootResult better(RootResult first, RootResult second)
+        {
+            if (second == null || (first != null && first.score >= second.score)) {
+                return first;
+            }
+            return second;
+        }
+    }
+
+    /**
+     * Searches a range of root moves, splitting it in half until a single move is left.
+     */
+    @SuppressWarnings("serial")     //tasks only run in the pool and are never serialized.
+    private final class RootTask extends RecursiveTask<RootResult> {
+        private final int[] moves;
+        private final int start;
+        private final int end;
+        private final int depth;
+        private final AtomicInteger alpha;
+        private final ThreadLocal<Searcher> searchers;
+
+        private RootTask(int[] moves, int start, int end, int depth, AtomicInteger alpha,
+                         ThreadLocal<Searcher> searchers)
+        {
+            this.moves = moves;
+            this.start = start;
+            this.end = end;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.searchers = searchers;
+        }
+
+        @Override
+        protected RootResult compute()
+        {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                RootTask right = new RootTask(moves, middle, end, depth, alpha, searchers);
+                right.fork();
+                RootResult left = new RootTask(moves, start, middle, depth, alpha, searchers).compute();
+                return RootResult.better(left, right.join());
+            }
+            if (control.isStopped()) {
+                return null;
+            }
+
+            Searcher searcher = searchers.get();
+            int move = moves[start];
+            int currentAlpha = alpha.get();
+            int moveScore = searcher.searchMove(move, currentAlpha, currentAlpha + 1, depth);
+            if (moveScore <= currentAlpha || control.isStopped()) {
+                return null;
+            }
+            moveScore = searcher.searchMove(move, currentAlpha, Searcher.INFINITY, depth);     //re-search with the full window.
+            if (moveScore <= currentAlpha || control.isStopped()) {
+                return null;
+            }
+            alpha.accumulateAndGet(moveScore, Math::max);
+            return new RootResult(moveScore, searcher.getLine());
+        }
+    }
+}
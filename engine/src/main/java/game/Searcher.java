@@ -0,0 +1,534 @@
+package game;
+
+import game.evaluation.Evaluator;
+import game.evaluation.PieceSquareEvaluator;
+import game.tablebase.Tablebase;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The state of one thread searching for the best move: a private copy of the position, the move
+ * buffers, the principal variation and the move ordering heuristics. Searchers of the same decision
+ * share a transposition table and a Control, which keeps the time and node budget of the decision and
+ * tells every searcher when to stop.
+ * The search itself is a principal variation search with a quiescence search at the end, as described
+ * in ComputerPlayer. Positions below the root that are in the endgame tablebase, if there is one, are
+ * scored from the tablebase instead of being searched.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class Searcher {
+    static final int INFINITY = ComputerPlayer.MATE_SCORE + 1;
+    //The number of nodes counted before they are reported to the control.
+    private static final int NODE_BATCH = 1024;
+
+    //The position being searched, which is a private copy.
+    private final Position position;
+    private final TranspositionTable transpositionTable;
+    private final Control control;
+    //Whether the first step of the quiescence search also searches moves that threaten the general.
+    private final boolean quiescenceChecks;
+    //Preallocated storage for the moves generated at each distance from the root, and their order scores.
+    private final int[][] moveBuffers;
+    private final int[][] scoreBuffers;
+    private final MoveOrderer moveOrderer;
+    //The tables of positions with little material, or null if there are none.
+    private Tablebase tablebase;
+    //The evaluator of the leaves, which is a PieceSquareEvaluator unless another is set.
+    private Evaluator evaluator;
+    //The principal variation found at each distance from the root, and its length.
+    private final int[][] pvTable;
+    private final int[] pvLength;
+    //The principal variation and score of the last completed iteration.
+    private int[] principalVariation;
+    private int score;
+    private long nodeCount;
+    private int unreportedNodes;
+
+    /**
+     * Initialise a searcher of the specified position.
+     * @param position The position to be searched, which is modified while searching.
+     * @param transpositionTable The transposition table shared with the other searchers.
+     * @param control The control of the decision this searcher is part of.
+     * @param quiescenceChecks Whether the quiescence search searches threats to the general.
+     */
+    Searcher(Position position, TranspositionTable transpositionTable, Control control, boolean quiescenceChecks)
+    {
+        this.position = position;
+        this.transpositionTable = transpositionTable;
+        this.control = control;
+        this.quiescenceChecks = quiescenceChecks;
+        moveBuffers = new int[ComputerPlayer.MAX_PLY][MoveGenerator.MAX_MOVES];
+        scoreBuffers = new int[ComputerPlayer.MAX_PLY][MoveGenerator.MAX_MOVES];
+        moveOrderer = new MoveOrderer(ComputerPlayer.MAX_PLY);
+        pvTable = new int[ComputerPlayer.MAX_PLY][ComputerPlayer.MAX_PLY];
+        pvLength = new int[ComputerPlayer.MAX_PLY];
+        principalVariation = new int[0];
+        evaluator = new PieceSquareEvaluator();
+    }
+
+    /**
+     * Set the evaluator that scores the positions at the leaves of the search.
+     * @param evaluator The evaluator of the leaves.
+     */
+    void setEvaluator(Evaluator evaluator)
+    {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Set the endgame tablebase probed at every node below the root.
+     * @param tablebase The tablebase, or null if there is none.
+     */
+    void setTablebase(Tablebase tablebase)
+    {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Searches the position to the specified depth. If the search is not stopped, its score and principal
+     * variation replace those of the previous iteration.
+     * @param depth The depth to be searched.
+     * @return True if the iteration was completed.
+     */
+    boolean iterate(int depth)
+    {
+        int iterationScore = search(-INFINITY, INFINITY, depth, 0);
+        control.addNodes(unreportedNodes);
+        unreportedNodes = 0;
+        if (control.isStopped()) {
+            return false;
+        }
+        score = iterationScore;
+        principalVariation = new int[pvLength[0]];
+        System.arraycopy(pvTable[0], 0, principalVariation, 0, pvLength[0]);
+        return true;
+    }
+
+    /**
+     * Writes the moves of the root position into the array, ordered with the specified move first and the
+     * rest in the same order as inside the search.
+     * @param moves The array the packed moves are written into.
+     * @param firstMove The move to be searched first, or PackedMove.NONE to use the transposition table.
+     * @return The number of moves written.
+     */
+    int generateRootMoves(int[] moves, int firstMove)
+    {
+        int[] scores = scoreBuffers[0];
+        int count = MoveGenerator.generateLegalMoves(position, position.isBlackToMove(), moves);
+        if (firstMove == PackedMove.NONE) {
+            firstMove = TranspositionTable.getMove(transpositionTable.probe(position.getKey()));
+        }
+        moveOrderer.scoreMoves(position, moves, scores, count, firstMove, 0);
+        for (int i = 0; i < count; i++) {
+            MoveOrderer.selectMove(moves, scores, count, i);
+        }
+        return count;
+    }
+
+    /**
+     * Searches the position after one move of the root position, and sets the line of this searcher to the
+     * move followed by the principal variation after it.
+     * @param move The move of the root position to be searched.
+     * @param alpha The lower bound of the acceptable score.
+     * @param beta The upper bound of the acceptable score.
+     * @param depth The depth to be searched, including the move.
+     * @return The score of the move for the side to move in the root position.
+     */
+    int searchMove(int move, int alpha, int beta, int depth)
+    {
+        position.makeMove(move);
+        int moveScore = -search(-beta, -alpha, depth - 1, 1);
+        position.unmakeMove(move);
+        control.addNodes(unreportedNodes);
+        unreportedNodes = 0;
+        updatePrincipalVariation(move, 0);
+        return moveScore;
+    }
+
+    /**
+     * Returns the line set by the last call to searchMove.
+     * @return The move searched followed by the principal variation after it.
+     */
+    int[] getLine()
+    {
+        int[] line = new int[pvLength[0]];
+        System.arraycopy(pvTable[0], 0, line, 0, pvLength[0]);
+        return line;
+    }
+
+    /**
+     * Returns the principal variation of the last completed iteration.
+     * @return The principal variation of the last completed iteration.
+     */
+    int[] getPrincipalVariation()
+    {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Returns the score of the last completed iteration, from the point of view of the side to move.
+     * @return The score of the last completed iteration.
+     */
+    int getScore()
+    {
+        return score;
+    }
+
+    /**
+     * Returns the number of positions visited by this searcher.
+     * @return The number of positions visited by this searcher.
+     */
+    long getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Principal variation search of the current position.
+     * Returns the score of the position for the side to move, which is exact if it is between alpha and beta.
+     * Otherwise, it is an upper bound if it is at most alpha or a lower bound if it is at least beta.
+     * @param alpha The lower bound of the acceptable score.
+     * @param beta The upper bound of the acceptable score.
+     * @param depth The remaining depth to be searched.
+     * @param height The number of moves made from the root.
+     * @return The score of this position for the side to move.
+     */
+    int search(int alpha, int beta, int depth, int height)
+    {
+        pvLength[height] = height;
+        boolean isBlack = position.isBlackToMove();
+        if (height > 0 && position.count(Position.pieceCode(Position.GENERAL, isBlack)) == 0) {
+            return -ComputerPlayer.MATE_SCORE + height;      //the general has been captured.
+        }
+        if (height > 0 && tablebase != null) {
+            int result = tablebase.probe(position);
+            if (result != Tablebase.UNKNOWN) {
+                return tablebaseScore(result, height);
+            }
+        }
+        if (depth == 0) {
+            return quiescence(alpha, beta, height, quiescenceChecks);
+        }
+        if (height >= ComputerPlayer.MAX_PLY - 1) {
+            return evaluateScore();
+        }
+        if (isOutOfBudget()) {
+            return 0;
+        }
+
+        boolean isRoot = height == 0;
+        boolean isPvNode = beta - alpha > 1;
+        if (!isRoot) {
+            //no score can be better than capturing the general right away.
+            alpha = Math.max(alpha, -ComputerPlayer.MATE_SCORE + height);
+            beta = Math.min(beta, ComputerPlayer.MATE_SCORE - height - 1);
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+
+        long key = position.getKey();
+        long entry = transpositionTable.probe(key);
+        if (entry != TranspositionTable.NO_ENTRY && !isPvNode && TranspositionTable.getDepth(entry) >= depth) {
+            int storedScore = fromTableScore(TranspositionTable.getScore(entry), height);
+            int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && storedScore >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && storedScore <= alpha)) {
+                return storedScore;
+            }
+        }
+
+        int[] moves = moveBuffers[height];
+        int[] scores = scoreBuffers[height];
+        int count = MoveGenerator.generateLegalMoves(position, isBlack, moves);
+        int hashMove = TranspositionTable.getMove(entry);
+        if (isRoot && principalVariation.length > 0) {
+            hashMove = principalVariation[0];      //the best move of the previous iteration.
+        }
+        moveOrderer.scoreMoves(position, moves, scores, count, hashMove, height);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = MoveOrderer.selectMove(moves, scores, count, i);
+            position.makeMove(move);
+            int moveScore;
+            if (i == 0) {
+                moveScore = -search(-beta, -alpha, depth - 1, height + 1);
+            } else {
+                moveScore = -search(-alpha - 1, -alpha, depth - 1, height + 1);
+                if (moveScore > alpha && moveScore < beta) {
+                    moveScore = -search(-beta, -alpha, depth - 1, height + 1);     //re-search with the full window.
+                }
+            }
+            position.unmakeMove(move);
+            if (control.isStopped()) {
+                return 0;
+            }
+
+            if (moveScore > bestScore) {
+                bestScore = moveScore;
+                bestMove = move;
+                if (moveScore > alpha) {
+                    alpha = moveScore;
+                    updatePrincipalVariation(move, height);
+                    if (moveScore >= beta) {
+                        moveOrderer.recordCutoff(position, move, depth, height);
+                        break;      //beta-cutoff
+                    }
+                }
+            }
+        }
+
+        if (count == 0) {
+            bestScore = -ComputerPlayer.MATE_SCORE + height;       //checkmate or stalemate, which also loses.
+        }
+        int bound;
+        if (bestScore >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        } else if (bestScore > originalAlpha) {
+            bound = TranspositionTable.EXACT;
+        } else {
+            bound = TranspositionTable.UPPER_BOUND;
+        }
+        transpositionTable.store(key, depth, bound, toTableScore(bestScore, height), bestMove);
+        return bestScore;
+    }
+
+    /**
+     * Searches only the captures of the current position, and threats to the enemy general if specified,
+     * until the position is quiet. The side to move may instead stand pat, which means accepting the
+     * evaluation of the position as it is, since it is not forced to capture.
+     * Returns the score of the position for the side to move, bounded in the same way as search.
+     * @param alpha The lower bound of the acceptable score.
+     * @param beta The upper bound of the acceptable score.
+     * @param height The number of moves made from the root.
+     * @param includeChecks Whether quiet moves that threaten the enemy general are searched too.
+     * @return The score of this position for the side to move.
+     */
+    int quiescence(int alpha, int beta, int height, boolean includeChecks)
+    {
+        pvLength[height] = height;
+        boolean isBlack = position.isBlackToMove();
+        if (height > 0 && position.count(Position.pieceCode(Position.GENERAL, isBlack)) == 0) {
+            return -ComputerPlayer.MATE_SCORE + height;      //the general has been captured.
+        }
+        int standPat = evaluateScore();
+        if (height >= ComputerPlayer.MAX_PLY - 1) {
+            return standPat;
+        }
+        if (isOutOfBudget()) {
+            return 0;
+        }
+        if (standPat >= beta) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int[] moves = moveBuffers[height];
+        int[] scores = scoreBuffers[height];
+        int count = includeChecks ? MoveGenerator.generateMoves(position, isBlack, moves)
+                : MoveGenerator.generateCaptures(position, isBlack, moves);
+        moveOrderer.scoreMoves(position, moves, scores, count, PackedMove.NONE, height);
+        int bestScore = standPat;
+        for (int i = 0; i < count; i++) {
+            int move = MoveOrderer.selectMove(moves, scores, count, i);
+            position.makeMove(move);
+            if (!PackedMove.isCapture(move) && !MoveGenerator.isInCheck(position, !isBlack)) {
+                position.unmakeMove(move);
+                continue;
+            }
+            int moveScore = -quiescence(-beta, -alpha, height + 1, false);
+            position.unmakeMove(move);
+            if (control.isStopped()) {
+                return 0;
+            }
+
+            if (moveScore > bestScore) {
+                bestScore = moveScore;
+                if (moveScore > alpha) {
+                    alpha = moveScore;
+                    if (moveScore >= beta) {
+                        break;      //beta-cutoff
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Sets the principal variation at the specified height to the move followed by the principal
+     * variation of the position after it.
+     * @param move The move that improved alpha.
+     * @param height The number of moves made from the root.
+     */
+    private void updatePrincipalVariation(int move, int height)
+    {
+        pvTable[height][height] = move;
+        int childLength = pvLength[height + 1];
+        System.arraycopy(pvTable[height + 1], height + 1, pvTable[height], height + 1, childLength - height - 1);
+        pvLength[height] = Math.max(childLength, height + 1);
+    }
+
+    /**
+     * Converts a mate score to be relative to the position being stored rather than the root,
+     * so that it stays correct when the position is reached at a different height.
+     * @param score The score relative to the root.
+     * @param height The number of moves made from the root.
+     * @return The score relative to the position.
+     */
+    private static int toTableScore(int score, int height)
+    {
+        if (score > ComputerPlayer.MATE_SCORE - ComputerPlayer.MAX_PLY) {
+            return score + height;
+        } else if (score < -ComputerPlayer.MATE_SCORE + ComputerPlayer.MAX_PLY) {
+            return score - height;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a mate score stored in the transposition table back to be relative to the root.
+     * @param score The score relative to the position.
+     * @param height The number of moves made from the root.
+     * @return The score relative to the root.
+     */
+    private static int fromTableScore(int score, int height)
+    {
+        if (score > ComputerPlayer.MATE_SCORE - ComputerPlayer.MAX_PLY) {
+            return score - height;
+        } else if (score < -ComputerPlayer.MATE_SCORE + ComputerPlayer.MAX_PLY) {
+            return score + height;
+        }
+        return score;
+    }
+
+    /**
+     * Counts the current node and returns true if the search has been stopped. Nodes are reported to the
+     * control in batches, so that threads searching together rarely write to the same memory.
+     * @return True if the search should stop.
+     */
+    private boolean isOutOfBudget()
+    {
+        nodeCount++;
+        if (++unreportedNodes == NODE_BATCH) {
+            control.addNodes(unreportedNodes);
+            unreportedNodes = 0;
+        }
+        return control.isStopped();
+    }
+
+    /**
+     * Converts the result of probing the tablebase into a score, in the same way as a checkmate is scored in
+     * the search. The tablebase counts the moves until the general is captured, which is two moves after the
+     * losing side is left without a legal move, except when the general can be captured right away.
+     * @param result The result of the probe, which is not UNKNOWN.
+     * @param height The number of moves made from the root.
+     * @return The score of the position for the side to move.
+     */
+    static int tablebaseScore(int result, int height)
+    {
+        if (Tablebase.isWin(result)) {
+            return ComputerPlayer.MATE_SCORE - height - (result == 1 ? 1 : result - 2);
+        } else if (Tablebase.isLoss(result)) {
+            return -ComputerPlayer.MATE_SCORE + height + result - 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Computes the score of the searched position for the side to move with the evaluator.
+     * @return The score of the searched position for the side to move.
+     */
+    private int evaluateScore()
+    {
+        return evaluator.evaluate(position);
+    }
+
+    /**
+     * The budget of one decision, shared by all of its searchers. The search is stopped when the time or
+     * node limit is reached, but only once stopping is allowed, so that the first iteration is always completed.
+     */
+    static final class Control {
+        private final long timeLimit;
+        private final long nodeLimit;
+        private final long deadline;
+        private final AtomicLong nodeCount;
+        private volatile boolean stoppable;
+        private volatile boolean stopRequested;
+        private volatile boolean stopped;
+
+        /**
+         * Initialise the control of a decision starting now.
+         * @param timeLimit The time limit in milliseconds, or 0 for no limit.
+         * @param nodeLimit The node limit, or 0 for no limit.
+         */
+        Control(long timeLimit, long nodeLimit)
+        {
+            this.timeLimit = timeLimit;
+            this.nodeLimit = nodeLimit;
+            deadline = System.nanoTime() + timeLimit * 1_000_000;
+            nodeCount = new AtomicLong();
+        }
+
+        /**
+         * Adds nodes visited by a searcher, and stops the search if the budget has run out.
+         * @param nodes The number of nodes visited.
+         */
+        void addNodes(long nodes)
+        {
+            long total = nodeCount.addAndGet(nodes);
+            if (stoppable && ((nodeLimit > 0 && total > nodeLimit)
+                    || (timeLimit > 0 && System.nanoTime() >= deadline))) {
+                stopped = true;
+            }
+        }
+
+        /**
+         * Allows the budget to stop the search, once there is a move to play.
+         */
+        void setStoppable()
+        {
+            stoppable = true;
+            if (stopRequested) {
+                stopped = true;
+            }
+        }
+
+        /**
+         * Stops all searchers of this decision as soon as stopping is allowed.
+         */
+        void requestStop()
+        {
+            stopRequested = true;
+            if (stoppable) {
+                stopped = true;
+            }
+        }
+
+        /**
+         * Stops all searchers of this decision.
+         */
+        void stop()
+        {
+            stopped = true;
+        }
+
+        boolean isStopped()
+        {
+            return stopped;
+        }
+
+        long getNodeCount()
+        {
+            return nodeCount.get();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package game;
+
+/**
+ * A fixed-size table of search results, indexed by the Zobrist key of the position they belong to.
+ * Each entry records the depth searched, whether the score is exact or a lower or upper bound,
+ * the score and the best move. Entries are packed into two parallel long arrays, one for the keys and
+ * one for the data, so that no object is created per entry.
+ * The number of entries must be a power of two, so that a key is mapped to its slot with a mask.
+ * The table can be shared by threads searching at the same time without locking. The key of each entry
+ * is stored xored with its data, so that an entry whose key and data were written by different threads
+ * does not match any key and is ignored by probe.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class TranspositionTable {
+
+    //Types of bounds. An empty slot has no bound.
+    public static final int NO_BOUND = 0;
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+    //The result of a probe that does not find the position.
+    public static final long NO_ENTRY = 0;
+    public static final int MAX_DEPTH = 0xFF;
+
+    /**
+     * Decides whether a new result may overwrite the result of another position in the same slot.
+     * ALWAYS replaces every time. DEPTH_PREFERRED keeps a deeper result from the current search, but
+     * results from earlier searches are always replaced.
+     */
+    public enum ReplacementScheme {
+        ALWAYS,
+        DEPTH_PREFERRED
+    }
+
+    //Layout of the data of an entry.
+    private static final int MOVE_SHIFT = 32;
+    private static final long MOVE_MASK = 0x3FFFF;
+    private static final int DEPTH_SHIFT = 50;
+    private static final int BOUND_SHIFT = 58;
+    private static final int AGE_SHIFT = 60;
+    private static final int AGE_MASK = 0xF;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;
+    private final ReplacementScheme replacementScheme;
+    //The age of the current search, stored in entries so that stale results can be recognised.
+    private int age;
+
+    /**
+     * Initialise an empty table that prefers deeper results.
+     * @param size The number of entries, which must be a power of two.
+     * @throws IllegalArgumentException if the size is not a positive power of two.
+     */
+    public TranspositionTable(int size)
+    {
+        this(size, ReplacementScheme.DEPTH_PREFERRED);
+    }
+
+    /**
+     * Initialise an empty table with the specified replacement scheme.
+     * @param size The number of entries, which must be a power of two.
+     * @param replacementScheme How results of other positions in the same slot are replaced.
+     * @throws IllegalArgumentException if the size is not a positive power of two or the scheme is null.
+     */
+    public TranspositionTable(int size, ReplacementScheme replacementScheme)
+    {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("The size must be a power of two.");
+        }
+        if (replacementScheme == null) {
+            throw new IllegalArgumentException("The replacement scheme cannot be null.");
+        }
+        keys = new long[size];
+        data = new long[size];
+        indexMask = size - 1;
+        this.replacementScheme = replacementScheme;
+        age = 0;
+    }
+
+    /**
+     * Returns the data stored for the position with the specified key, or NO_ENTRY if there is none.
+     * @param key The key of the position.
+     * @return The data of the entry, or NO_ENTRY if there is none.
+     */
+    public long probe(long key)
+    {
+        int index = (int) key & indexMask;
+        long entry = data[index];
+        if ((keys[index] ^ entry) == key) {
+            return entry;
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores the result of a search of the position with the specified key.
+     * @param key The key of the position.
+     * @param depth The depth the position was searched to.
+     * @param bound The type of bound of the score.
+     * @param score The score of the position.
+     * @param move The best move found, or PackedMove.NONE if there is none.
+     */
+    public void store(long key, int depth, int bound, int score, int move)
+    {
+        int index = (int) key & indexMask;
+        long current = data[index];
+        boolean isSameKey = (keys[index] ^ current) == key;
+        if (replacementScheme == ReplacementScheme.DEPTH_PREFERRED && current != NO_ENTRY
+                && !isSameKey && getAge(current) == age && getDepth(current) > depth) {
+            return;
+        }
+        if (move == PackedMove.NONE && isSameKey) {
+            move = getMove(current);        //keep the best move of an earlier search of this position.
+        }
+        long entry = pack(depth, bound, score, move);
+        keys[index] = key ^ entry;
+        data[index] = entry;
+    }
+
+    /**
+     * Marks the start of a new search, so that results of earlier searches can be replaced.
+     */
+    public void newSearch()
+    {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Removes all entries from this table.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 0;
+            data[i] = NO_ENTRY;
+        }
+    }
+
+    /**
+     * Returns the number of entries in this table.
+     * @return The number of entries in this table.
+     */
+    public int getSize()
+    {
+        return keys.length;
+    }
+
+    /**
+     * Returns how full this table is in permille, estimated from the first thousand entries.
+     * Only entries of the current search are counted.
+     * @return The number of used entries per thousand.
+     */
+    public int getUsage()
+    {
+        int sampled = Math.min(keys.length, 1000);
+        int used = 0;
+        for (int i = 0; i < sampled; i++) {
+            long entry = data[i];
+            if (entry != NO_ENTRY && getAge(entry) == age) {
+                used++;
+            }
+        }
+        return used * 1000 / sampled;
+    }
+
+    /**
+     * Returns the replacement scheme of this table.
+     * @return The replacement scheme of this table.
+     */
+    public ReplacementScheme getReplacementScheme()
+    {
+        return replacementScheme;
+    }
+
+    private long pack(int depth, int bound, int score, int move)
+    {
+        depth = Math.max(0, Math.min(depth, MAX_DEPTH));
+        return (score & 0xFFFFFFFFL)
+                | ((move & MOVE_MASK) << MOVE_SHIFT)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) age << AGE_SHIFT);
+    }
+
+    /**
+     * Returns the score stored in the data of an entry.
+     * @param entry The data of the entry.
+     * @return The score of the entry.
+     */
+    public static int getScore(long entry)
+    {
+        return (int) entry;
+    }
+
+    /**
+     * Returns the best move stored in the data of an entry.
+     * @param entry The data of the entry.
+     * @return The best move of the entry, or PackedMove.NONE if there is none.
+     */
+    public static int getMove(long entry)
+    {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK);
+    }
+
+    /**
+     * Returns the depth stored in the data of an entry.
+     * @param entry The data of the entry.
+     * @return The depth of the entry.
+     */
+    public static int getDepth(long entry)
+    {
+        return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * Returns the type of bound stored in the data of an entry.
+     * @param entry The data of the entry.
+     * @return The type of bound of the entry.
+     */
+    public static int getBound(long entry)
+    {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private static int getAge(long entry)
+    {
+        return (int) (entry >>> AGE_SHIFT) & AGE_MASK;
+    }
+}
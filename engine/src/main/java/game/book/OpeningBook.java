@@ -0,0 +1,199 @@
+package game.book;
+
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * An opening book that is probed for the move to play before searching. The book is a file written by
+ * OpeningBookBuilder and is memory-mapped when it is opened, so that probing it does not read the whole
+ * file and allocates nothing.
+ * <p>
+ * The file starts with a header of its magic number, version and number of entries, followed by the
+ * entries sorted by the key of the position and then by the move. Each entry is the key of a position,
+ * a move played in it and the weight of the move, in 12 bytes. The move is the squares moved from and
+ * to, in the same bits as PackedMove.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public final class OpeningBook implements Closeable {
+    public static final int MAGIC = 0x58514b42;     //"XQKB"
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int ENTRY_BYTES = 12;
+    private static final int MOVE_MASK = 0x3FFF;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int entryCount;
+    //A buffer of the moves of the position, to check that a book move can be played.
+    private final int[] moves;
+
+    private OpeningBook(FileChannel channel) throws IOException
+    {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (channel.read(header, 0) != HEADER_BYTES
+                || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not an opening book.");
+        }
+        entryCount = header.getInt(8);
+        if (entryCount < 0 || channel.size() != HEADER_BYTES + (long) entryCount * ENTRY_BYTES) {
+            throw new IOException("The opening book is truncated.");
+        }
+        entries = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) entryCount * ENTRY_BYTES);
+        moves = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * Opens an opening book written by OpeningBookBuilder.
+     * @param path The book file.
+     * @return The opened book.
+     * @throws IOException if the file cannot be opened or is not an opening book.
+     */
+    public static OpeningBook open(Path path) throws IOException
+    {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new OpeningBook(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of moves in this book, counting each position separately.
+     * @return The number of entries.
+     */
+    public int getEntryCount()
+    {
+        return entryCount;
+    }
+
+    /**
+     * Returns the total weight of the book moves of the position with the specified key.
+     * @param key The key of the position.
+     * @return The total weight, or 0 if the position is not in this book.
+     */
+    public int getTotalWeight(long key)
+    {
+        int total = 0;
+        for (int entry = lowerBound(key); entry < entryCount && key(entry) == key; entry++) {
+            total += weight(entry);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the weight of the specified move in the position with the specified key.
+     * @param key The key of the position.
+     * @param move The packed move.
+     * @return The weight of the move, or 0 if it is not a book move of the position.
+     */
+    public int getWeight(long key, int move)
+    {
+        int target = move & MOVE_MASK;
+        for (int entry = lowerBound(key); entry < entryCount && key(entry) == key; entry++) {
+            if (move(entry) == target) {
+                return weight(entry);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Chooses a book move of the position at random, in proportion to the weights of the moves.
+     * Moves that cannot be played in the position, which may only happen if two positions share a key,
+     * are never chosen. This method is not thread-safe.
+     * @param position The position to be probed.
+     * @param random The source of randomness.
+     * @return The packed move, including the piece it captures, or PackedMove.NONE if the position is not
+     *          in this book.
+     */
+    public int probe(Position position, Random random)
+    {
+        long key = position.getKey();
+        int first = lowerBound(key);
+        int total = getTotalWeight(key);
+        if (total == 0) {
+            return PackedMove.NONE;
+        }
+
+        int count = MoveGenerator.generateLegalMoves(position, position.isBlackToMove(), moves);
+        int pick = random.nextInt(total);
+        for (int entry = first; entry < entryCount && key(entry) == key; entry++) {
+            pick -= weight(entry);
+            if (pick < 0) {
+                return findMove(move(entry), count);
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Closes the book file.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /**
+     * Returns the generated move with the same squares as the book move, or PackedMove.NONE if there is none.
+     */
+    private int findMove(int bookMove, int count)
+    {
+        for (int i = 0; i < count; i++) {
+            if ((moves[i] & MOVE_MASK) == bookMove) {
+                return moves[i];
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Returns the first entry whose key is not less than the specified key.
+     */
+    private int lowerBound(long key)
+    {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long key(int entry)
+    {
+        return entries.getLong(entry * ENTRY_BYTES);
+    }
+
+    private int move(int entry)
+    {
+        return entries.getShort(entry * ENTRY_BYTES + Long.BYTES) & 0xFFFF;
+    }
+
+    private int weight(int entry)
+    {
+        return entries.getShort(entry * ENTRY_BYTES + Long.BYTES + Short.BYTES) & 0xFFFF;
+    }
+}
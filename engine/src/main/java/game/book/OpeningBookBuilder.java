@@ -0,0 +1,228 @@
+package game.book;
+
+import game.Position;
+import game.record.ExternalSorter;
+import game.record.GameRecord;
+import game.record.GameRecordReader;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Builds an opening book from game records. Every move played within the first plies of a game is counted
+ * in the position it was played in. A move of the side that won the game weighs 2, a move of a game without
+ * a result weighs 1 and a move of the side that lost weighs nothing, so that the book prefers moves that
+ * have won. Moves whose weight is below a minimum are left out of the book.
+ * <p>
+ * Every move counted is kept as a record of the key of its position, the move and its weight in an
+ * ExternalSorter, so that a book of millions of games is built without holding its positions on the heap.
+ * The records are sorted in bounded runs on disk, and the weights of the same move in the same position
+ * are summed as the runs are merged into the book file. The builder should be closed to delete the runs.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class OpeningBookBuilder implements Closeable {
+    public static final int DEFAULT_MAX_PLY = 20;
+    private static final int MAX_WEIGHT = 0xFFFF;
+    //The offset of the number of entries in the header of the book.
+    private static final int COUNT_OFFSET = 8;
+
+    private final int maxPly;
+    //The key of the position of each move counted, with the move in the high half and its weight in the low half.
+    private final ExternalSorter records;
+    private int gameCount;
+
+    /**
+     * Initialise a builder of a book of the specified number of plies.
+     * @param maxPly The number of plies at the start of each game that are added to the book.
+     */
+    public OpeningBookBuilder(int maxPly)
+    {
+        this(maxPly, ExternalSorter.DEFAULT_RUN_PAIRS);
+    }
+
+    /**
+     * Initialise a builder that sorts at most the specified number of moves on the heap at a time.
+     * @param maxPly The number of plies at the start of each game that are added to the book.
+     * @param runMoves The number of moves in each sorted run, which must be positive.
+     */
+    OpeningBookBuilder(int maxPly, int runMoves)
+    {
+        if (maxPly < 1) {
+            throw new IllegalArgumentException("The number of plies must be positive.");
+        }
+        this.maxPly = maxPly;
+        records = new ExternalSorter(null, runMoves);
+    }
+
+    /**
+     * Adds the opening of a game to the book.
+     * @param record The game to be added.
+     * @throws IOException if a sorted run cannot be written.
+     */
+    public void add(GameRecord record) throws IOException
+    {
+        Position position = record.getStartPosition();
+        int plies = Math.min(maxPly, record.getMoveCount());
+        for (int ply = 0; ply < plies; ply++) {
+            int move = record.getMove(ply);
+            int weight = weightOf(record.getResult(), position.isBlackToMove());
+            if (weight > 0) {
+                records.add(position.getKey(), ((long) (move & 0x3FFF) << 32) | weight);
+            }
+            position.makeMove(move);
+        }
+        gameCount++;
+    }
+
+    /**
+     * Adds the openings of every game read by the reader to the book.
+     * @param reader The reader of the games.
+     * @throws IOException if a game cannot be read.
+     */
+    public void addAll(GameRecordReader reader) throws IOException
+    {
+        GameRecord record;
+        while ((record = reader.read()) != null) {
+            add(record);
+        }
+    }
+
+    /**
+     * Returns the number of games added to the book.
+     * @return The number of games added.
+     */
+    public int getGameCount()
+    {
+        return gameCount;
+    }
+
+    /**
+     * Writes the book, leaving out the moves whose weight is less than the specified minimum.
+     * Weights larger than 65535 are capped.
+     * @param path The book file to be written.
+     * @param minWeight The minimum weight of a move in the book.
+     * @return The number of moves written.
+     * @throws IOException if the book cannot be written.
+     */
+    public int write(Path path, int minWeight) throws IOException
+    {
+        EntryWriter writer;
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(OpeningBook.MAGIC);
+            output.writeInt(OpeningBook.VERSION);
+            output.writeInt(0);        //the number of entries is only known once they are written.
+            writer = new EntryWriter(output, minWeight);
+            records.forEachSorted(writer);
+            writer.flush();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).putInt(0, writer.count);
+            channel.write(count, COUNT_OFFSET);
+        }
+        return writer.count;
+    }
+
+    /**
+     * Deletes the sorted runs written while adding games.
+     * @throws IOException if a run cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        records.close();
+    }
+
+    /**
+     * Returns the weight of a move of the specified side in a game with the specified result.
+     */
+    private static int weightOf(int result, boolean isBlack)
+    {
+        if (result == GameRecord.ONGOING) {
+            return 1;
+        }
+        return (result == GameRecord.BLACK_WIN) == isBlack ? 2 : 0;
+    }
+
+    /**
+     * Builds an opening book from a file of game records.
+     * Usage: OpeningBookBuilder games book [maxPly] [minWeight]
+     * @param args The file of games, the book file, and optionally the number of plies and minimum weight.
+     * @throws IOException if the games cannot be read or the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Usage: OpeningBookBuilder games book [maxPly] [minWeight]");
+            System.exit(2);
+        }
+        int maxPly = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLY;
+        int minWeight = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        try (OpeningBookBuilder builder = new OpeningBookBuilder(maxPly)) {
+            try (GameRecordReader reader = new GameRecordReader(Files.newInputStream(Paths.get(args[0])))) {
+                builder.addAll(reader);
+            }
+            int count = builder.write(Paths.get(args[1]), minWeight);
+            System.out.println(builder.getGameCount() + " games, " + count + " book moves");
+        }
+    }
+
+    /**
+     * Sums the weights of the sorted records of each move in each position, and writes the moves whose
+     * weight reaches the minimum as book entries.
+     */
+    private static final class EntryWriter implements ExternalSorter.PairConsumer {
+        private final DataOutputStream output;
+        private final int minWeight;
+        private long key;
+        private int move = -1;
+        private long weight;
+        private int count;
+
+        EntryWriter(DataOutputStream output, int minWeight)
+        {
+            this.output = output;
+            this.minWeight = minWeight;
+        }
+
+        @Override
+        public void accept(long key, long value) throws IOException
+        {
+            int move = (int) (value >>> 32);
+            if (key != this.key || move != this.move) {
+                flush();
+                this.key = key;
+                this.move = move;
+                weight = 0;
+            }
+            weight += (int) value;
+        }
+
+        /**
+         * Writes the move whose weights have been summed, if there is one.
+         */
+        void flush() throws IOException
+        {
+            if (move < 0 || weight < minWeight) {
+                return;
+            }
+            if (count == Integer.MAX_VALUE) {
+                throw new IOException("Too many moves for one book.");
+            }
+            output.writeLong(key);
+            output.writeShort(move);
+            output.writeShort((int) Math.min(weight, MAX_WEIGHT));
+            count++;
+            move = -1;
+        }
+    }
+}
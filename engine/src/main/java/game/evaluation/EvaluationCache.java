@@ -0,0 +1,135 @@
+package game.evaluation;
+
+import game.Position;
+
+/**
+ * An evaluator that remembers the scores of another evaluator by the Zobrist key of the position, so that
+ * a position reached again in another part of the search is not evaluated again. The cache has a fixed
+ * number of entries and is lossy: a position simply replaces whichever position was stored in its slot.
+ * Entries are packed into two parallel long arrays in the same way as TranspositionTable, so that no object
+ * is created per entry, and the key of each entry is stored xored with its data, so that threads can read
+ * and write the cache at the same time without locking. An entry whose key and data were written by
+ * different threads does not match any key and is evaluated again.
+ * Caching pays off for evaluators that cost more than a few memory reads, such as ones that count the
+ * mobility of the pieces. PieceSquareEvaluator is cheaper than a probe and gains nothing from it.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Evaluation_Hash_Table
+ * @version 18-10-2026
+ */
+public class EvaluationCache implements Evaluator {
+    //The default number of entries, which take 16 bytes each.
+    public static final int DEFAULT_SIZE = 1 << 16;
+    //The result of a probe that does not find the position.
+    public static final int MISS = Integer.MIN_VALUE;
+    //Marks the data of a stored entry, so that an empty slot is never mistaken for a score of 0.
+    private static final long STORED = 1L << 32;
+
+    private final Evaluator evaluator;
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;
+
+    /**
+     * Initialise an empty cache of the default size in front of an evaluator.
+     * @param evaluator The evaluator whose scores are cached.
+     * @throws IllegalArgumentException if the evaluator is null.
+     */
+    public EvaluationCache(Evaluator evaluator)
+    {
+        this(evaluator, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initialise an empty cache in front of an evaluator.
+     * @param evaluator The evaluator whose scores are cached.
+     * @param size The number of entries, which must be a power of two.
+     * @throws IllegalArgumentException if the evaluator is null or the size is not a positive power of two.
+     */
+    public EvaluationCache(Evaluator evaluator, int size)
+    {
+        if (evaluator == null) {
+            throw new IllegalArgumentException("The evaluator cannot be null.");
+        }
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("The size must be a power of two.");
+        }
+        this.evaluator = evaluator;
+        keys = new long[size];
+        data = new long[size];
+        indexMask = size - 1;
+    }
+
+    /**
+     * Returns the cached score of the position, or the score of the evaluator, which is then cached.
+     * @param position The position to be scored.
+     * @return The score of the position for the side to move.
+     */
+    @Override
+    public int evaluate(Position position)
+    {
+        long key = position.getKey();
+        int score = probe(key);
+        if (score == MISS) {
+            score = evaluator.evaluate(position);
+            store(key, score);
+        }
+        return score;
+    }
+
+    /**
+     * Returns the score stored for the position with the specified key.
+     * @param key The key of the position.
+     * @return The stored score, or MISS if the position is not in the cache.
+     */
+    public int probe(long key)
+    {
+        int index = (int) key & indexMask;
+        long entry = data[index];
+        if (entry != 0 && (keys[index] ^ entry) == key) {
+            return (int) entry;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the score of the position with the specified key, replacing the entry in its slot.
+     * @param key The key of the position.
+     * @param score The score of the position for the side to move.
+     */
+    public void store(long key, int score)
+    {
+        int index = (int) key & indexMask;
+        long entry = STORED | (score & 0xFFFFFFFFL);
+        keys[index] = key ^ entry;
+        data[index] = entry;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 0;
+            data[i] = 0;
+        }
+    }
+
+    /**
+     * Returns the number of entries in this cache.
+     * @return The number of entries in this cache.
+     */
+    public int getSize()
+    {
+        return keys.length;
+    }
+
+    /**
+     * Returns the evaluator whose scores are cached.
+     * @return The evaluator whose scores are cached.
+     */
+    public Evaluator getEvaluator()
+    {
+        return evaluator;
+    }
+}
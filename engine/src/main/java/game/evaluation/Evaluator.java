@@ -0,0 +1,23 @@
+package game.evaluation;
+
+import game.Position;
+
+/**
+ * Scores positions at the leaves of a search. An evaluator is called at every leaf, so it must be cheap,
+ * must not allocate and must not change the position. The same evaluator is shared by every thread of a
+ * search, so an implementation must also be safe to call from several threads at once.
+ * The search itself notices a captured general, so an evaluator is only called on positions where both
+ * generals are on the board.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public interface Evaluator {
+    /**
+     * Returns the score of the position for the side to move, which is greater than 0 if that side is
+     * winning and less than 0 if it is losing.
+     * @param position The position to be scored.
+     * @return The score of the position for the side to move.
+     */
+    int evaluate(Position position);
+}
@@ -0,0 +1,27 @@
+package game.evaluation;
+
+import game.Position;
+
+/**
+ * Scores a position by the difference between the values of the pieces of each side, using the same
+ * values as Piece.getValue() and Game.evaluateScore, so that the position of the pieces is ignored.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    /**
+     * Initialise an evaluator that only counts material.
+     */
+    public MaterialEvaluator()
+    {
+    }
+
+    @Override
+    public int evaluate(Position position)
+    {
+        boolean isBlack = position.isBlackToMove();
+        return position.getMaterial(isBlack) - position.getMaterial(!isBlack);
+    }
+}
@@ -0,0 +1,28 @@
+package game.evaluation;
+
+import game.Position;
+
+/**
+ * Scores a position by the difference between the positional scores of each side, which combine the value
+ * of every piece with a bonus for its square from PieceSquareTable. The position keeps these scores up to
+ * date as moves are made, so evaluating only reads them.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class PieceSquareEvaluator implements Evaluator {
+
+    /**
+     * Initialise an evaluator that reads the piece-square scores kept by the position.
+     */
+    public PieceSquareEvaluator()
+    {
+    }
+
+    @Override
+    public int evaluate(Position position)
+    {
+        boolean isBlack = position.isBlackToMove();
+        return position.getPositionalScore(isBlack) - position.getPositionalScore(!isBlack);
+    }
+}
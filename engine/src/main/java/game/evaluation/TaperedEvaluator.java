@@ -0,0 +1,72 @@
+package game.evaluation;
+
+import game.Position;
+
+/**
+ * Scores a position by blending a middlegame score and an endgame score according to how much of the
+ * attacking material is left. The middlegame score is the positional score of PieceSquareEvaluator. The
+ * endgame score only counts the pieces, with weights that suit a bare board: horses and soldiers that have
+ * crossed the river gain value, while cannons, which need screens, and the defending pieces lose value.
+ * The phase counts the chariots, horses and cannons left, so that a position with all of them is scored
+ * as a middlegame and a position with none of them as an endgame.
+ * Both scores and the phase are read from the counts of the position, so evaluating is a handful of
+ * bit counts.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Tapered_Eval
+ * @version 18-10-2026
+ */
+public class TaperedEvaluator implements Evaluator {
+    //The phase of the starting position, in which every chariot, horse and cannon is on the board.
+    public static final int MAX_PHASE = 16;
+    //The weight of each kind of piece in the phase, indexed by kind.
+    private static final int[] PHASE_WEIGHTS = {0, 0, 0, 0, 1, 2, 1, 0};
+    //The value of each kind of piece in the endgame, on the scale of PieceSquareTable, indexed by kind.
+    private static final int[] ENDGAME_VALUES = {0, 0, 15, 15, 105, 200, 85, 10};
+    //The endgame value of a soldier that has crossed the river, instead of ENDGAME_VALUES.
+    private static final int ENDGAME_CROSSED_SOLDIER_VALUE = 35;
+
+    /**
+     * Initialise an evaluator that blends middlegame and endgame scores.
+     */
+    public TaperedEvaluator()
+    {
+    }
+
+    @Override
+    public int evaluate(Position position)
+    {
+        boolean isBlack = position.isBlackToMove();
+        int middlegame = position.getPositionalScore(isBlack) - position.getPositionalScore(!isBlack);
+        int endgame = endgameScore(position, isBlack) - endgameScore(position, !isBlack);
+        int phase = Math.min(getPhase(position), MAX_PHASE);
+        return (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+    }
+
+    /**
+     * Returns the phase of the position, which is MAX_PHASE at the start of a game and falls to 0 as the
+     * chariots, horses and cannons are captured.
+     * @param position The position.
+     * @return The phase of the position.
+     */
+    public static int getPhase(Position position)
+    {
+        int phase = 0;
+        for (int kind = Position.HORSE; kind <= Position.CANNON; kind++) {
+            phase += (position.count(kind) + position.count(Position.pieceCode(kind, true))) * PHASE_WEIGHTS[kind];
+        }
+        return phase;
+    }
+
+    /**
+     * Returns the endgame value of the pieces of a color.
+     */
+    private static int endgameScore(Position position, boolean isBlack)
+    {
+        int score = 0;
+        for (int kind = Position.ADVISOR; kind <= Position.SOLDIER; kind++) {
+            score += position.count(Position.pieceCode(kind, isBlack)) * ENDGAME_VALUES[kind];
+        }
+        int crossed = position.countCrossedSoldiers(isBlack);
+        return score + crossed * (ENDGAME_CROSSED_SOLDIER_VALUE - ENDGAME_VALUES[Position.SOLDIER]);
+    }
+}
@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Board;
 import game.Location;
+import game.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +38,7 @@ public class Advisor extends Piece {
         ));
         setMoveSet(moveSet);
         setValue(4);
+        setKind(Position.ADVISOR);
     }
 
     /**
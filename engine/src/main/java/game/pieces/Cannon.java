@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Board;
 import game.Location;
+import game.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +37,7 @@ public class Cannon extends Piece {
         ));
         setMoveSet(moveSet);
         setValue(9);
+        setKind(Position.CANNON);
     }
 
     /**
@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Board;
 import game.Location;
+import game.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -39,6 +40,7 @@ public class General extends Piece {
         ));
         setMoveSet(moveSet);
         setValue(1000000);
+        setKind(Position.GENERAL);
     }
 
     /**
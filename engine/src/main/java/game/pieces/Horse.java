@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Board;
 import game.Location;
+import game.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +43,7 @@ public class Horse extends Piece {
         ));
         setMoveSet(moveSet);
         setValue(8);
+        setKind(Position.HORSE);
     }
 
     public ArrayList<Location> getMoves(){
@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Location;
 import game.Board;
+import game.Position;
 
 import java.util.ArrayList;
 
@@ -23,6 +24,8 @@ public abstract class Piece {
     private ArrayList<Location> moveSet = new ArrayList<>();
     //The approximate value of the piece relative to other pieces.
     private int value;
+    //The kind of the piece, as used by Position.
+    private int kind;
 
     /**
      * Initialise this piece with its starting location and the board it is on.
@@ -160,6 +163,33 @@ public abstract class Piece {
         return value;
     }
 
+    /**
+     * Sets the kind of this piece, which is one of the piece kinds in Position.
+     * @param kind The kind of this piece.
+     */
+    protected void setKind(int kind)
+    {
+        this.kind = kind;
+    }
+
+    /**
+     * Returns the kind of this piece, which is one of the piece kinds in Position.
+     * @return The kind of this piece.
+     */
+    public int getKind()
+    {
+        return kind;
+    }
+
+    /**
+     * Returns the code of this piece in a Position, which combines its kind and color.
+     * @return The code of this piece in a Position.
+     */
+    public int getCode()
+    {
+        return Position.pieceCode(kind, isBlack);
+    }
+
     /**
      * Returns a copy of this piece.
      * @return A copy of this piece.
@@ -2,6 +2,7 @@ package game.pieces;
 
 import game.Board;
 import game.Location;
+import game.Position;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,6 +41,7 @@ public class Soldier extends Piece {
         setMoveSet(moveSet);
 
         setValue(2);
+        setKind(Position.SOLDIER);
     }
 
     /**
@@ -95,8 +97,10 @@ public class Soldier extends Piece {
     /**
      * Changes the status of this soldier piece to having crossed the river.
      * The move set of this soldier is changed to being able to move forward and horizontally.
+     * This is done when the soldier moves across the river, or when it is placed beyond the river
+     * in a position that is set up directly.
      */
-    private void crossRiver()
+    public void crossRiver()
     {
         ArrayList<Location> newMoveSet;
         if (isBlack()) {
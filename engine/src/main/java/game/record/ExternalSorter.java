@@ -0,0 +1,301 @@
+package game.record;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts pairs of longs by the first and then by the second long, with no more than a bounded number of
+ * pairs on the heap at a time, which is known as an external merge sort. Pairs are added to primitive
+ * buffers, and every time the buffers are full they are sorted and written to a temporary file as a run.
+ * The runs and the pairs still in the buffers are then merged through a priority queue and passed on in
+ * order, so that the sorted pairs can be streamed straight into a file.
+ * Indexes built from millions of games, such as GameDatabase and OpeningBookBuilder, are sorted this way.
+ *
+ * @author Lee Seng Poh, with reference to https://en.wikipedia.org/wiki/External_sorting
+ * @version 18-10-2026
+ */
+public final class ExternalSorter implements Closeable {
+    //The default number of pairs in each run, which take 16MB.
+    public static final int DEFAULT_RUN_PAIRS = 1 << 20;
+    private static final int PAIR_BYTES = 16;
+    //The number of pairs the buffers start with, so that a small sort does not take a whole run.
+    private static final int INITIAL_PAIRS = 1 << 16;
+
+    /**
+     * Receives the sorted pairs.
+     */
+    public interface PairConsumer {
+        /**
+         * Called with each pair in sorted order.
+         * @param key The first long of the pair.
+         * @param value The second long of the pair.
+         * @throws IOException if the pair cannot be used, such as when writing it fails.
+         */
+        void accept(long key, long value) throws IOException;
+    }
+
+    private final Path directory;
+    private final int runPairs;
+    private final List<Path> runs;
+    private long[] keys;
+    private long[] values;
+    private int bufferCount;
+    private long count;
+
+    /**
+     * Initialise an empty sorter that writes its runs to the default temporary directory.
+     */
+    public ExternalSorter()
+    {
+        this(null, DEFAULT_RUN_PAIRS);
+    }
+
+    /**
+     * Initialise an empty sorter.
+     * @param directory The directory the runs are written to, or null for the default temporary directory.
+     * @param runPairs The number of pairs in each run, which must be positive.
+     */
+    public ExternalSorter(Path directory, int runPairs)
+    {
+        if (runPairs < 1) {
+            throw new IllegalArgumentException("The number of pairs in a run must be positive.");
+        }
+        this.directory = directory;
+        this.runPairs = runPairs;
+        runs = new ArrayList<>();
+        keys = new long[Math.min(runPairs, INITIAL_PAIRS)];
+        values = new long[keys.length];
+    }
+
+    /**
+     * Adds a pair to be sorted, writing a run if the buffers are full.
+     * @param key The first long of the pair.
+     * @param value The second long of the pair.
+     * @throws IOException if a run cannot be written.
+     */
+    public void add(long key, long value) throws IOException
+    {
+        if (bufferCount == keys.length) {
+            if (keys.length < runPairs) {
+                int length = (int) Math.min(runPairs, 2L * keys.length);
+                keys = Arrays.copyOf(keys, length);
+                values = Arrays.copyOf(values, length);
+            } else {
+                writeRun();
+            }
+        }
+        keys[bufferCount] = key;
+        values[bufferCount] = value;
+        bufferCount++;
+        count++;
+    }
+
+    /**
+     * Returns the number of pairs added.
+     * @return The number of pairs added.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the number of runs written to temporary files so far.
+     * @return The number of runs written.
+     */
+    public int getRunCount()
+    {
+        return runs.size();
+    }
+
+    /**
+     * Passes every pair added so far to the consumer in sorted order. Pairs can still be added afterwards.
+     * @param consumer The receiver of the sorted pairs.
+     * @throws IOException if a run cannot be read or the consumer fails.
+     */
+    public void forEachSorted(PairConsumer consumer) throws IOException
+    {
+        sort(keys, values, 0, bufferCount - 1);
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size() + 1,
+                (first, second) -> compare(first.key, first.value, second.key, second.value));
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(new DataInputStream(new BufferedInputStream(Files.newInputStream(run))),
+                        Files.size(run) / PAIR_BYTES);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            RunReader buffer = new RunReader(keys, values, bufferCount);
+            if (buffer.next()) {
+                queue.add(buffer);
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                consumer.accept(reader.key, reader.value);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Deletes the runs written by this sorter.
+     * @throws IOException if a run cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Sorts the full buffers and writes them to a new temporary file.
+     */
+    private void writeRun() throws IOException
+    {
+        sort(keys, values, 0, bufferCount - 1);
+        Path run = directory == null ? Files.createTempFile("run", ".tmp")
+                : Files.createTempFile(directory, "run", ".tmp");
+        runs.add(run);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            for (int i = 0; i < bufferCount; i++) {
+                output.writeLong(keys[i]);
+                output.writeLong(values[i]);
+            }
+        }
+        bufferCount = 0;
+    }
+
+    /**
+     * Sorts the pairs by key, then by value.
+     */
+    private static void sort(long[] keys, long[] values, int low, int high)
+    {
+        while (high - low > 16) {
+            int middle = (low + high) >>> 1;
+            long pivotKey = keys[middle];
+            long pivotValue = values[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(keys[i], values[i], pivotKey, pivotValue) < 0) {
+                    i++;
+                }
+                while (compare(keys[j], values[j], pivotKey, pivotValue) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            //recurse into the smaller part, so that the depth of recursion stays logarithmic.
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(keys[j - 1], values[j - 1], keys[j], values[j]) > 0; j--) {
+                swap(keys, values, j - 1, j);
+            }
+        }
+    }
+
+    private static int compare(long key, long value, long otherKey, long otherValue)
+    {
+        int result = Long.compare(key, otherKey);
+        return result != 0 ? result : Long.compare(value, otherValue);
+    }
+
+    private static void swap(long[] keys, long[] values, int i, int j)
+    {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * Reads the pairs of a sorted run one at a time, either from its temporary file or from the buffers,
+     * which are never written as a run.
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream input;
+        private final long[] keys;
+        private final long[] values;
+        private final long count;
+        private long read;
+        private long key;
+        private long value;
+
+        RunReader(DataInputStream input, long count)
+        {
+            this.input = input;
+            this.keys = null;
+            this.values = null;
+            this.count = count;
+        }
+
+        RunReader(long[] keys, long[] values, int count)
+        {
+            this.input = null;
+            this.keys = keys;
+            this.values = values;
+            this.count = count;
+        }
+
+        /**
+         * Moves to the next pair of the run.
+         * @return False if there are no more pairs.
+         */
+        boolean next() throws IOException
+        {
+            if (read == count) {
+                return false;
+            }
+            if (input != null) {
+                key = input.readLong();
+                value = input.readLong();
+            } else {
+                key = keys[(int) read];
+                value = values[(int) read];
+            }
+            read++;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (input != null) {
+                input.close();
+            }
+        }
+    }
+}
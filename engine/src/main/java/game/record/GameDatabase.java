@@ -0,0 +1,371 @@
+package game.record;
+
+import game.Board;
+import game.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A database of games that is queried by position. The games are a file of game records, as written by
+ * GameRecordWriter, and the index is a file built from them that lists every position reached in every game,
+ * sorted by the key of the position. Both files are memory-mapped when the database is opened, so that a
+ * query reads only the parts of the files it needs and the games are not loaded onto the heap.
+ * <p>
+ * The index starts with a header of its magic number, version and number of games and entries. It is
+ * followed by the offset of every game in the games file and then by the entries, each of which is the
+ * key of a position, the number of the game and the ply at which the game reached it, in 16 bytes.
+ * Building the index of millions of games does not fit on the heap either, so the entries are sorted in
+ * bounded runs on disk and merged, which is known as an external merge sort.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public final class GameDatabase implements Closeable {
+    public static final int MAGIC = 0x58474442;     //"XGDB"
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int ENTRY_BYTES = 16;
+    //The number of entries sorted on the heap at a time while building, which take 16MB.
+    private static final int DEFAULT_RUN_ENTRIES = ExternalSorter.DEFAULT_RUN_PAIRS;
+    //Files are mapped in segments, as a single mapping cannot be larger than 2GB.
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel gamesChannel;
+    private final FileChannel indexChannel;
+    private final long gamesSize;
+    private final int gameCount;
+    private final long entryCount;
+    private final MappedByteBuffer[] gameSegments;
+    private final MappedByteBuffer offsets;
+    private final MappedByteBuffer[] entrySegments;
+
+    private GameDatabase(FileChannel gamesChannel, FileChannel indexChannel) throws IOException
+    {
+        this.gamesChannel = gamesChannel;
+        this.indexChannel = indexChannel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (indexChannel.read(header, 0) != HEADER_BYTES
+                || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a game database index.");
+        }
+        gameCount = header.getInt(8);
+        entryCount = header.getLong(16);
+        long offsetsBytes = (long) gameCount * Long.BYTES;
+        if (gameCount < 0 || entryCount < 0
+                || indexChannel.size() != HEADER_BYTES + offsetsBytes + entryCount * ENTRY_BYTES) {
+            throw new IOException("The game database index is truncated.");
+        }
+
+        gamesSize = gamesChannel.size();
+        gameSegments = map(gamesChannel, 0, gamesSize);
+        offsets = indexChannel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, offsetsBytes);
+        entrySegments = map(indexChannel, HEADER_BYTES + offsetsBytes, entryCount * ENTRY_BYTES);
+    }
+
+    /**
+     * Builds the index of a file of game records, replacing any index that is already there.
+     * The entries are sorted outside the heap: they are sorted in runs of a bounded size, each run is
+     * written to a temporary file next to the index, and the runs are then merged into the index. The game
+     * offsets are also kept in a temporary file, so that the heap used does not grow with the number of games.
+     * @param games The file of game records.
+     * @param index The index file to be written.
+     * @throws IOException if the games cannot be read or the index cannot be written.
+     */
+    public static void build(Path games, Path index) throws IOException
+    {
+        build(games, index, DEFAULT_RUN_ENTRIES);
+    }
+
+    /**
+     * Builds the index of a file of game records, sorting at most the specified number of entries on the heap
+     * at a time.
+     * @param games The file of game records.
+     * @param index The index file to be written.
+     * @param runEntries The number of entries in each sorted run, which must be positive.
+     * @throws IOException if the games cannot be read or the index cannot be written.
+     */
+    static void build(Path games, Path index, int runEntries) throws IOException
+    {
+        if (runEntries < 1) {
+            throw new IllegalArgumentException("The number of entries in a run must be positive.");
+        }
+        Path directory = index.toAbsolutePath().getParent();
+        Path offsetsFile = Files.createTempFile(directory, "offsets", ".tmp");
+        try (ExternalSorter sorter = new ExternalSorter(directory, runEntries)) {
+            int gameCount = 0;
+            try (GameRecordReader reader = new GameRecordReader(Files.newInputStream(games));
+                 DataOutputStream offsets = new DataOutputStream(
+                         new BufferedOutputStream(Files.newOutputStream(offsetsFile)))) {
+                long offset = reader.getOffset();
+                GameRecord record;
+                while ((record = reader.read()) != null) {
+                    if (gameCount == Integer.MAX_VALUE) {
+                        throw new IOException("Too many games for one index.");
+                    }
+                    offsets.writeLong(offset);
+                    offset = reader.getOffset();
+
+                    Position position = record.getStartPosition();
+                    for (int ply = 0; ply <= record.getMoveCount(); ply++) {
+                        if (ply > 0) {
+                            position.makeMove(record.getMove(ply - 1));
+                        }
+                        sorter.add(position.getKey(), ((long) gameCount << 32) | ply);
+                    }
+                    gameCount++;
+                }
+            }
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(index)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(gameCount);
+                output.writeInt(0);
+                output.writeLong(sorter.getCount());
+                Files.copy(offsetsFile, output);
+                sorter.forEachSorted((key, value) -> {
+                    output.writeLong(key);
+                    output.writeLong(value);
+                });
+            }
+        } finally {
+            Files.deleteIfExists(offsetsFile);
+        }
+    }
+
+    /**
+     * Opens a database of games with an index built by build.
+     * @param games The file of game records.
+     * @param index The index of the games.
+     * @return The opened database.
+     * @throws IOException if the files cannot be opened or the index is not valid.
+     */
+    public static GameDatabase open(Path games, Path index) throws IOException
+    {
+        FileChannel gamesChannel = FileChannel.open(games, StandardOpenOption.READ);
+        try {
+            FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.READ);
+            try {
+                return new GameDatabase(gamesChannel, indexChannel);
+            } catch (IOException | RuntimeException e) {
+                indexChannel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            gamesChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of games in this database.
+     * @return The number of games.
+     */
+    public int getGameCount()
+    {
+        return gameCount;
+    }
+
+    /**
+     * Returns the number of positions in the index, counting each ply of each game.
+     * @return The number of positions indexed.
+     */
+    public long getPositionCount()
+    {
+        return entryCount;
+    }
+
+    /**
+     * Reads the specified game.
+     * @param game The number of the game, starting from 0.
+     * @return The game.
+     * @throws IOException if the game is not valid.
+     */
+    public GameRecord getGame(int game) throws IOException
+    {
+        if (game < 0 || game >= gameCount) {
+            throw new IllegalArgumentException("There is no game " + game + ".");
+        }
+        GameRecordReader reader = new GameRecordReader(new MappedInputStream(offsets.getLong(game * Long.BYTES)));
+        return reader.read();
+    }
+
+    /**
+     * Returns the numbers of the games that reached the position with the specified key.
+     * @param key The key of the position, as returned by Board.getKey.
+     * @return The numbers of the games in ascending order, without duplicates.
+     */
+    public int[] findGames(long key)
+    {
+        long entry = lowerBound(key);
+        int[] games = new int[0];
+        int count = 0;
+        for (; entry < entryCount && entryKey(entry) == key; entry++) {
+            int game = (int) (entryValue(entry) >>> 32);
+            if (count == 0 || games[count - 1] != game) {
+                if (count == games.length) {
+                    games = Arrays.copyOf(games, Math.max(8, count * 2));
+                }
+                games[count++] = game;
+            }
+        }
+        return Arrays.copyOf(games, count);
+    }
+
+    /**
+     * Returns the ply at which the specified game first reached the position with the specified key.
+     * @param game The number of the game.
+     * @param key The key of the position.
+     * @return The ply, or -1 if the game did not reach the position.
+     */
+    public int findPly(int game, long key)
+    {
+        long target = (long) game << 32;
+        long low = lowerBound(key);
+        long high = entryCount;
+        //the entries of the key are sorted by game and then by ply.
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (entryKey(middle) == key && entryValue(middle) < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low < entryCount && entryKey(low) == key && (entryValue(low) >>> 32) == game) {
+            return (int) entryValue(low);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns every game that reached the pieces on the board with the same side to move.
+     * @param board The board whose position is searched for.
+     * @return The games in the order they are stored.
+     * @throws IOException if a game is not valid.
+     */
+    public List<GameRecord> query(Board board) throws IOException
+    {
+        List<GameRecord> records = new ArrayList<>();
+        for (int game : findGames(board.getKey())) {
+            records.add(getGame(game));
+        }
+        return records;
+    }
+
+    /**
+     * Closes the files of this database.
+     * @throws IOException if the files cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try {
+            gamesChannel.close();
+        } finally {
+            indexChannel.close();
+        }
+    }
+
+    /**
+     * Returns the first entry whose key is not less than the specified key.
+     */
+    private long lowerBound(long key)
+    {
+        long low = 0;
+        long high = entryCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (entryKey(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long entryKey(long entry)
+    {
+        long offset = entry * ENTRY_BYTES;
+        return entrySegments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    private long entryValue(long entry)
+    {
+        long offset = entry * ENTRY_BYTES + Long.BYTES;
+        return entrySegments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Maps a region of a file in segments of 1GB. As the size of an entry divides the size of a segment,
+     * no entry crosses two segments.
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, long position, long size) throws IOException
+    {
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start,
+                    Math.min(size - start, 1L << SEGMENT_SHIFT));
+        }
+        return segments;
+    }
+
+    /**
+     * Reads the games file from an offset through its mapped segments.
+     */
+    private final class MappedInputStream extends InputStream {
+        private long offset;
+
+        MappedInputStream(long offset)
+        {
+            this.offset = offset;
+        }
+
+        @Override
+        public int read()
+        {
+            if (offset >= gamesSize) {
+                return -1;
+            }
+            int value = gameSegments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK)) & 0xFF;
+            offset++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int start, int length)
+        {
+            if (length == 0) {
+                return 0;
+            }
+            if (offset >= gamesSize) {
+                return -1;
+            }
+            //read no further than the end of the current segment.
+            MappedByteBuffer segment = gameSegments[(int) (offset >>> SEGMENT_SHIFT)];
+            int position = (int) (offset & SEGMENT_MASK);
+            int count = Math.min(length, segment.limit() - position);
+            segment.get(position, buffer, start, count);
+            offset += count;
+            return count;
+        }
+    }
+}
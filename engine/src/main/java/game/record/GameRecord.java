@@ -0,0 +1,160 @@
+package game.record;
+
+import game.Fen;
+import game.Game;
+import game.Location;
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Player;
+import game.Position;
+
+/**
+ * A game read from a binary game record: the position it started from, the moves played and its result.
+ * <p>
+ * In the binary format each game is a 4 byte header, followed by the starting FEN if the game did not
+ * start from the usual position, a 16 bit word per move and a 16 bit word ending the game:
+ * <ul>
+ *     <li>header: the 16 bit magic number MAGIC, the format VERSION and a flags byte, whose bit
+ *     FLAG_FEN is set if the starting FEN follows in modified UTF-8.</li>
+ *     <li>move: the square moved from in bits 0-6 and the square moved to in bits 7-13, as in PackedMove,
+ *     with bits 14-15 clear.</li>
+ *     <li>undo: UNDO, which takes back the last move recorded.</li>
+ *     <li>end: END with the result in the low bits.</li>
+ * </ul>
+ * Games are written one after another, so that a file is read as a stream of games.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public final class GameRecord {
+    public static final int MAGIC = 0x5847;     //"XG"
+    public static final int VERSION = 1;
+    public static final int FLAG_FEN = 1;
+    public static final int UNDO = 0x4000;
+    public static final int END = 0xC000;
+    public static final int MOVE_MASK = 0x3FFF;
+
+    //The results of a game.
+    public static final int ONGOING = 0;
+    public static final int RED_WIN = 1;
+    public static final int BLACK_WIN = 2;
+
+    private final String startFen;
+    private final int[] moves;
+    private final int result;
+
+    /**
+     * Initialise a record of a game.
+     * @param startFen The FEN of the starting position, or null if the game started from the usual position.
+     * @param moves The packed moves played, including the pieces they captured.
+     * @param result The result of the game, which is ONGOING, RED_WIN or BLACK_WIN.
+     */
+    public GameRecord(String startFen, int[] moves, int result)
+    {
+        if (result < ONGOING || result > BLACK_WIN) {
+            throw new IllegalArgumentException("Invalid result: " + result);
+        }
+        this.startFen = startFen;
+        this.moves = moves.clone();
+        this.result = result;
+    }
+
+    /**
+     * Returns the FEN of the position the game started from.
+     * @return The starting FEN.
+     */
+    public String getStartFen()
+    {
+        return startFen == null ? Fen.STARTING_POSITION : startFen;
+    }
+
+    /**
+     * Returns true if the game started from the usual starting position.
+     * @return True if the game started from the usual starting position.
+     */
+    public boolean isStandardStart()
+    {
+        return startFen == null;
+    }
+
+    /**
+     * Returns the number of moves played.
+     * @return The number of moves played.
+     */
+    public int getMoveCount()
+    {
+        return moves.length;
+    }
+
+    /**
+     * Returns the specified move.
+     * @param ply The index of the move, starting from 0.
+     * @return The packed move, including the piece it captured.
+     */
+    public int getMove(int ply)
+    {
+        return moves[ply];
+    }
+
+    /**
+     * Returns the result of the game.
+     * @return ONGOING, RED_WIN or BLACK_WIN.
+     */
+    public int getResult()
+    {
+        return result;
+    }
+
+    /**
+     * Returns the position the game started from.
+     * @return A new position.
+     */
+    public Position getStartPosition()
+    {
+        return Fen.toPosition(getStartFen());
+    }
+
+    /**
+     * Plays the game on a new Game. A game that was won without capturing a general is ended by the
+     * loser resigning.
+     * @return The game after its moves were played.
+     * @throws IllegalStateException if a move of the record cannot be made.
+     */
+    public Game toGame()
+    {
+        Game game = startFen == null ? new Game() : new Game(startFen);
+        for (int i = 0; i < moves.length; i++) {
+            int move = moves[i];
+            Location from = location(PackedMove.getFrom(move));
+            Location to = location(PackedMove.getTo(move));
+            if (!game.move(game.getPiece(from), to)) {
+                throw new IllegalStateException("Move " + (i + 1) + " of the record cannot be made: "
+                        + PackedMove.toNotation(move));
+            }
+        }
+        if (result != ONGOING && game.checkOngoing()) {
+            Player loser = game.getPlayer(result == RED_WIN);
+            game.resign(loser);
+        }
+        return game;
+    }
+
+    /**
+     * Returns the result of the specified game.
+     * @param game The game.
+     * @return ONGOING, RED_WIN or BLACK_WIN.
+     */
+    public static int resultOf(Game game)
+    {
+        Player winner = game.getWinner();
+        if (winner == null) {
+            return ONGOING;
+        }
+        return winner.isBlack() ? BLACK_WIN : RED_WIN;
+    }
+
+    private static Location location(int square)
+    {
+        return new Location(square % MoveGenerator.WIDTH, square / MoveGenerator.WIDTH);
+    }
+}
@@ -0,0 +1,156 @@
+package game.record;
+
+import game.Fen;
+import game.PackedMove;
+import game.Position;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads games in the binary format of GameRecord one at a time, so that a file of many games can be
+ * scanned without holding them all in memory. Undone moves are removed from the games read, and the
+ * pieces captured by the moves are filled in by playing them on a Position.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class GameRecordReader implements Closeable {
+    private final CountingInputStream counter;
+    private final DataInputStream input;
+    private int[] moves;
+
+    /**
+     * Initialise a reader that reads games from the specified stream.
+     * @param input The stream the games are read from.
+     */
+    public GameRecordReader(InputStream input)
+    {
+        counter = new CountingInputStream(new BufferedInputStream(input));
+        this.input = new DataInputStream(counter);
+        moves = new int[256];
+    }
+
+    /**
+     * Returns the number of bytes of the stream that have been read, which is the offset of the next game.
+     * @return The number of bytes read.
+     */
+    public long getOffset()
+    {
+        return counter.count;
+    }
+
+    /**
+     * Reads the next game.
+     * @return The game read, or null if there are no more games.
+     * @throws IOException if the stream cannot be read or does not hold a valid game.
+     */
+    public GameRecord read() throws IOException
+    {
+        int magic = input.read();
+        if (magic < 0) {
+            return null;
+        }
+        magic = (magic << 8) | input.readUnsignedByte();
+        if (magic != GameRecord.MAGIC) {
+            throw new IOException("Invalid game record: bad magic number " + Integer.toHexString(magic));
+        }
+        int version = input.readUnsignedByte();
+        if (version != GameRecord.VERSION) {
+            throw new IOException("Unsupported game record version: " + version);
+        }
+        int flags = input.readUnsignedByte();
+        String startFen = (flags & GameRecord.FLAG_FEN) != 0 ? input.readUTF() : null;
+        Position position;
+        try {
+            position = Fen.toPosition(startFen == null ? Fen.STARTING_POSITION : startFen);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid game record: " + e.getMessage(), e);
+        }
+
+        int count = 0;
+        while (true) {
+            int word;
+            try {
+                word = input.readUnsignedShort();
+            } catch (EOFException e) {
+                throw new IOException("Invalid game record: the game has no end.", e);
+            }
+            if ((word & GameRecord.END) == GameRecord.END) {
+                int result = word & ~GameRecord.END;
+                if (result > GameRecord.BLACK_WIN) {
+                    throw new IOException("Invalid game record: unknown result " + result);
+                }
+                return new GameRecord(startFen, Arrays.copyOf(moves, count), result);
+            } else if (word == GameRecord.UNDO) {
+                if (count == 0) {
+                    throw new IOException("Invalid game record: undo without a move.");
+                }
+                position.unmakeMove(moves[--count]);
+            } else if ((word & ~GameRecord.MOVE_MASK) != 0) {
+                throw new IOException("Invalid game record: unknown word " + Integer.toHexString(word));
+            } else {
+                int from = PackedMove.getFrom(word);
+                int to = PackedMove.getTo(word);
+                if (from >= position.getSquareCount() || to >= position.getSquareCount()
+                        || position.isEmpty(from)) {
+                    throw new IOException("Invalid game record: move " + (count + 1) + " has no piece to move.");
+                }
+                int move = PackedMove.encode(from, to, position.getPiece(to));
+                position.makeMove(move);
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, count * 2);
+                }
+                moves[count++] = move;
+            }
+        }
+    }
+
+    /**
+     * Closes the stream.
+     * @throws IOException if the stream cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        input.close();
+    }
+
+    /**
+     * Counts the bytes read from a stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream input)
+        {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int value = in.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
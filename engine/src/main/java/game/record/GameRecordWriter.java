@@ -0,0 +1,154 @@
+package game.record;
+
+import game.Fen;
+import game.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes games in the binary format of GameRecord as they are played. A game is started with start,
+ * which writes its header and listens to its moves, and finished with end, which writes its result.
+ * Moves are written as they are made, so that a game is recorded even if it is not stored anywhere else.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public class GameRecordWriter implements Game.MoveListener, Closeable {
+    private final DataOutputStream output;
+    private Game game;
+
+    /**
+     * Initialise a writer that writes games to the specified stream.
+     * @param output The stream the games are written to.
+     */
+    public GameRecordWriter(OutputStream output)
+    {
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+    }
+
+    /**
+     * Writes the header of the specified game, and records the moves made in it until end is called.
+     * The game is recorded from its current position.
+     * @param game The game to be recorded.
+     * @throws IllegalStateException if another game is being recorded.
+     * @throws UncheckedIOException if the header cannot be written.
+     */
+    public void start(Game game)
+    {
+        if (this.game != null) {
+            throw new IllegalStateException("Another game is being recorded.");
+        }
+        String fen = game.toFen();
+        try {
+            writeHeader(fen.equals(Fen.STARTING_POSITION) ? null : fen);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.game = game;
+        game.setMoveListener(this);
+    }
+
+    /**
+     * Writes a move made in the game being recorded.
+     * @param packedMove The packed move that was made.
+     * @throws UncheckedIOException if the move cannot be written.
+     */
+    @Override
+    public void moveMade(int packedMove)
+    {
+        writeWord(packedMove & GameRecord.MOVE_MASK);
+    }
+
+    /**
+     * Writes that the last move of the game being recorded was undone.
+     * @throws UncheckedIOException if the undo cannot be written.
+     */
+    @Override
+    public void moveUndone()
+    {
+        writeWord(GameRecord.UNDO);
+    }
+
+    /**
+     * Writes the result of the game being recorded and stops recording it.
+     * @throws IllegalStateException if no game is being recorded.
+     * @throws UncheckedIOException if the result cannot be written.
+     */
+    public void end()
+    {
+        if (game == null) {
+            throw new IllegalStateException("No game is being recorded.");
+        }
+        game.setMoveListener(null);
+        writeWord(GameRecord.END | GameRecord.resultOf(game));
+        game = null;
+    }
+
+    /**
+     * Writes a complete game.
+     * @param record The game to be written.
+     * @throws IllegalStateException if another game is being recorded.
+     * @throws IOException if the game cannot be written.
+     */
+    public void write(GameRecord record) throws IOException
+    {
+        if (game != null) {
+            throw new IllegalStateException("Another game is being recorded.");
+        }
+        writeHeader(record.isStandardStart() ? null : record.getStartFen());
+        for (int i = 0; i < record.getMoveCount(); i++) {
+            output.writeShort(record.getMove(i) & GameRecord.MOVE_MASK);
+        }
+        output.writeShort(GameRecord.END | record.getResult());
+    }
+
+    /**
+     * Writes any buffered data to the stream.
+     * @throws IOException if the data cannot be written.
+     */
+    public void flush() throws IOException
+    {
+        output.flush();
+    }
+
+    /**
+     * Ends the game being recorded, if any, and closes the stream.
+     * @throws IOException if the stream cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (game != null) {
+            end();
+        }
+        output.close();
+    }
+
+    /**
+     * Writes the header of a game.
+     * @param startFen The FEN of the starting position, or null if it is the usual starting position.
+     */
+    private void writeHeader(String startFen) throws IOException
+    {
+        output.writeShort(GameRecord.MAGIC);
+        output.writeByte(GameRecord.VERSION);
+        output.writeByte(startFen == null ? 0 : GameRecord.FLAG_FEN);
+        if (startFen != null) {
+            output.writeUTF(startFen);
+        }
+    }
+
+    private void writeWord(int word)
+    {
+        try {
+            output.writeShort(word);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package game.tablebase;
+
+import game.Fen;
+import game.MoveGenerator;
+import game.Position;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The table of one set of material, such as a chariot against two advisors, which holds a value for every
+ * placement of the pieces and side to move. A value is the number of plies until the side to move captures
+ * the enemy general if it is odd, or until its own general is captured if it is even, with DRAW for
+ * positions that are neither won nor lost and INVALID for placements where two pieces share a square.
+ * <p>
+ * Each piece is only placed on the squares it can reach, such as the five squares of an advisor, so that
+ * a table has no entries for placements that cannot happen. The index of a position is the number of
+ * the square of every piece within the squares it can reach, in the order of the pieces, followed by the
+ * side to move. Pieces are stored with the red general first, then the black general, then the other red
+ * pieces and then the other black pieces, each sorted by kind.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Endgame_Tablebases
+ * @version 18-10-2026
+ */
+final class Table {
+    static final int DRAW = 0;
+    static final int INVALID = 0xFF;
+    //The longest distance that can be stored, which is odd so that both wins and losses can reach it.
+    static final int MAX_DISTANCE = 253;
+
+    //The squares each piece can be on, and the number of each square within them, by piece code.
+    private static final int[][] DOMAINS = new int[Position.PIECE_CODES][];
+    private static final int[][] DOMAIN_INDICES = new int[Position.PIECE_CODES][];
+
+    static {
+        for (int piece = 0; piece < Position.PIECE_CODES; piece++) {
+            if (!Position.isPiece(piece)) {
+                continue;
+            }
+            int[] squares = new int[MoveGenerator.WIDTH * MoveGenerator.LENGTH];
+            int count = 0;
+            DOMAIN_INDICES[piece] = new int[squares.length];
+            Arrays.fill(DOMAIN_INDICES[piece], -1);
+            for (int square = 0; square < squares.length; square++) {
+                if (canReach(piece, square)) {
+                    DOMAIN_INDICES[piece][square] = count;
+                    squares[count++] = square;
+                }
+            }
+            DOMAINS[piece] = Arrays.copyOf(squares, count);
+        }
+    }
+
+    private final String material;
+    private final int[] pieces;
+    private final long signature;
+    private final long flippedSignature;
+    private final int size;
+    private final ByteBuffer values;
+    private int longestDistance;
+
+    /**
+     * Initialise a table of the specified pieces with the values in the buffer.
+     * @param pieces The piece codes in the order of the table.
+     * @param values The values of the table, or null to allocate an empty table.
+     * @throws IllegalArgumentException if the table has too many entries or the buffer is of the wrong size.
+     */
+    Table(int[] pieces, ByteBuffer values)
+    {
+        this.pieces = pieces.clone();
+        long entries = 2;
+        for (int piece : pieces) {
+            entries *= DOMAINS[piece].length;
+        }
+        material = nameOf(pieces);
+        if (entries > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The table of " + material + " is too large.");
+        }
+        size = (int) entries;
+        if (values != null && values.capacity() != size) {
+            throw new IllegalArgumentException("The table of " + material + " must have " + size + " entries.");
+        }
+        this.values = values != null ? values : ByteBuffer.allocate(size);
+        signature = signatureOf(pieces, false);
+        flippedSignature = signatureOf(pieces, true);
+    }
+
+    /**
+     * Returns the pieces of a material such as "KRKAA", where the first K and the letters following it are
+     * the red pieces and the second K and the letters following it are the black pieces, in the order of a table.
+     * @param material The material, with letters as in a FEN.
+     * @return The piece codes in the order of the table.
+     * @throws IllegalArgumentException if the material is not valid.
+     */
+    static int[] parse(String material)
+    {
+        String upper = material.toUpperCase();
+        int blackGeneral = upper.indexOf('K', 1);
+        if (!upper.startsWith("K") || blackGeneral < 0 || upper.indexOf('K', blackGeneral + 1) >= 0) {
+            throw new IllegalArgumentException("A material must have a general of each side, such as KRKAA: "
+                    + material);
+        }
+        int[] pieces = new int[upper.length()];
+        int count = 0;
+        pieces[count++] = Position.pieceCode(Position.GENERAL, false);
+        pieces[count++] = Position.pieceCode(Position.GENERAL, true);
+        int[] red = new int[blackGeneral - 1];
+        int[] black = new int[upper.length() - blackGeneral - 1];
+        for (int i = 1; i < blackGeneral; i++) {
+            red[i - 1] = Position.pieceCode(Position.kindOf(Fen.pieceOf(upper.charAt(i))), false);
+        }
+        for (int i = blackGeneral + 1; i < upper.length(); i++) {
+            black[i - blackGeneral - 1] = Position.pieceCode(Position.kindOf(Fen.pieceOf(upper.charAt(i))), true);
+        }
+        Arrays.sort(red);
+        Arrays.sort(black);
+        for (int piece : red) {
+            pieces[count++] = piece;
+        }
+        for (int piece : black) {
+            pieces[count++] = piece;
+        }
+        return pieces;
+    }
+
+    /**
+     * Returns the name of the material of the pieces, such as "KRKAA".
+     * @param pieces The piece codes in the order of a table.
+     * @return The name of the material.
+     */
+    static String nameOf(int[] pieces)
+    {
+        StringBuilder red = new StringBuilder();
+        StringBuilder black = new StringBuilder();
+        for (int piece : pieces) {
+            (Position.isBlack(piece) ? black : red).append(Character.toUpperCase(Fen.letterOf(piece)));
+        }
+        return red.append(black).toString();
+    }
+
+    /**
+     * Returns the signature of the material of a position, which counts each piece code in 4 bits.
+     * @param position The position.
+     * @return The signature of the material of the position.
+     */
+    static long signatureOf(Position position)
+    {
+        long signature = 0;
+        for (int piece = 1; piece < Position.PIECE_CODES; piece++) {
+            if (Position.isPiece(piece)) {
+                signature += (long) position.count(piece) << (4 * piece);
+            }
+        }
+        return signature;
+    }
+
+    private static long signatureOf(int[] pieces, boolean flipped)
+    {
+        long signature = 0;
+        for (int piece : pieces) {
+            signature += 1L << (4 * (flipped ? piece ^ Position.BLACK : piece));
+        }
+        return signature;
+    }
+
+    String getMaterial()
+    {
+        return material;
+    }
+
+    int[] getPieces()
+    {
+        return pieces.clone();
+    }
+
+    int getPieceCount()
+    {
+        return pieces.length;
+    }
+
+    long getSignature()
+    {
+        return signature;
+    }
+
+    long getFlippedSignature()
+    {
+        return flippedSignature;
+    }
+
+    int getSize()
+    {
+        return size;
+    }
+
+    ByteBuffer getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the longest distance of a won or lost position of this table, as last computed by
+     * updateLongestDistance.
+     * @return The longest distance, or 0 if there is no won or lost position.
+     */
+    int getLongestDistance()
+    {
+        return longestDistance;
+    }
+
+    /**
+     * Computes the longest distance of a won or lost position of this table.
+     */
+    void updateLongestDistance()
+    {
+        int longest = 0;
+        for (int index = 0; index < size; index++) {
+            int value = getValue(index);
+            if (value != INVALID) {
+                longest = Math.max(longest, value);
+            }
+        }
+        longestDistance = longest;
+    }
+
+    int getValue(int index)
+    {
+        return values.get(index) & 0xFF;
+    }
+
+    void setValue(int index, int value)
+    {
+        values.put(index, (byte) value);
+    }
+
+    /**
+     * Returns the index of the position in this table, without allocating.
+     * @param position A position with the material of this table, or of its colors swapped if flipped.
+     * @param flipped Whether the colors are swapped and the board is turned around, so that a position with
+     *                the material of the other side is looked up in this table.
+     * @return The index of the position, or -1 if a piece is not on a square it can reach.
+     */
+    int indexOf(Position position, boolean flipped)
+    {
+        int index = 0;
+        int previous = Position.EMPTY;
+        long low = 0;
+        long high = 0;
+        for (int piece : pieces) {
+            if (piece != previous) {
+                int actual = flipped ? piece ^ Position.BLACK : piece;
+                low = position.getLowMask(actual);
+                high = position.getHighMask(actual);
+                previous = piece;
+            }
+            int square;
+            if (low != 0) {
+                square = Long.numberOfTrailingZeros(low);
+                low &= low - 1;
+            } else if (high != 0) {
+                square = 64 + Long.numberOfTrailingZeros(high);
+                high &= high - 1;
+            } else {
+                return -1;
+            }
+            if (flipped) {
+                square = mirror(square);
+            }
+            int domainIndex = DOMAIN_INDICES[piece][square];
+            if (domainIndex < 0) {
+                return -1;
+            }
+            index = index * DOMAINS[piece].length + domainIndex;
+        }
+        return index * 2 + (position.isBlackToMove() != flipped ? 1 : 0);
+    }
+
+    /**
+     * Writes the squares of the pieces of the specified index into the array, in the order of the pieces.
+     * @param index The index of a position.
+     * @param squares The array the squares are written into.
+     * @return True if black is to move.
+     */
+    boolean decode(int index, int[] squares)
+    {
+        boolean isBlackToMove = (index & 1) != 0;
+        index >>>= 1;
+        for (int i = pieces.length - 1; i >= 0; i--) {
+            int[] domain = DOMAINS[pieces[i]];
+            squares[i] = domain[index % domain.length];
+            index /= domain.length;
+        }
+        return isBlackToMove;
+    }
+
+    /**
+     * Returns the square on the other side of the board, in the same column.
+     */
+    private static int mirror(int square)
+    {
+        int x = square % MoveGenerator.WIDTH;
+        int y = square / MoveGenerator.WIDTH;
+        return (MoveGenerator.LENGTH - 1 - y) * MoveGenerator.WIDTH + x;
+    }
+
+    /**
+     * Returns true if the piece can ever stand on the square.
+     */
+    private static boolean canReach(int piece, int square)
+    {
+        boolean isBlack = Position.isBlack(piece);
+        int x = square % MoveGenerator.WIDTH;
+        int y = square / MoveGenerator.WIDTH;
+        //the rows as seen from the side of the piece.
+        int row = isBlack ? MoveGenerator.LENGTH - 1 - y : y;
+        switch (Position.kindOf(piece)) {
+            case Position.GENERAL:
+                return x >= 3 && x <= 5 && row <= 2;
+            case Position.ADVISOR:
+                return x >= 3 && x <= 5 && row <= 2 && (x + row) % 2 == 1;
+            case Position.ELEPHANT:
+                return row <= 4 && row % 2 == 0 && x % 2 == 0 && (row / 2 + x / 2) % 2 == 1;
+            case Position.SOLDIER:
+                return row >= 5 || (row >= 3 && x % 2 == 0);
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package game.tablebase;
+
+import game.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The endgame tables of a directory, which give the exact result of positions with little material.
+ * The tables are files written by TablebaseGenerator, which are memory-mapped when they are opened.
+ * Probing a position does not allocate, so that it can be done at every node of a search, and the
+ * tablebase can be probed by several threads at once.
+ * A table is used for positions with its material and for positions with the colors swapped, which are
+ * looked up with the board turned around.
+ *
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+public final class Tablebase implements Closeable {
+    public static final int MAGIC = 0x58515442;     //"XQTB"
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".xtb";
+    //The result of probing a position that is not in the tablebase.
+    public static final int UNKNOWN = -1;
+    //The result of probing a drawn position.
+    public static final int DRAW = Table.DRAW;
+
+    private final List<FileChannel> channels;
+    private final Table[] tables;
+    private final int maxPieces;
+
+    private Tablebase(List<FileChannel> channels, List<Table> tables)
+    {
+        this.channels = channels;
+        this.tables = tables.toArray(new Table[0]);
+        int max = 0;
+        for (Table table : this.tables) {
+            max = Math.max(max, table.getPieceCount());
+        }
+        maxPieces = max;
+    }
+
+    /**
+     * Opens every table in the directory.
+     * @param directory The directory of the tables.
+     * @return The tablebase of the tables.
+     * @throws IOException if a table cannot be opened or is not valid.
+     */
+    public static Tablebase open(Path directory) throws IOException
+    {
+        List<FileChannel> channels = new ArrayList<>();
+        List<Table> tables = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channels.add(channel);
+                tables.add(read(channel, file));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+            throw e;
+        }
+        return new Tablebase(channels, tables);
+    }
+
+    /**
+     * Returns the number of tables in this tablebase.
+     * @return The number of tables.
+     */
+    public int getTableCount()
+    {
+        return tables.length;
+    }
+
+    /**
+     * Returns the largest number of pieces, including the generals, of a table of this tablebase.
+     * Positions with more pieces are never in the tablebase.
+     * @return The largest number of pieces.
+     */
+    public int getMaxPieces()
+    {
+        return maxPieces;
+    }
+
+    /**
+     * Returns the result of the position for the side to move.
+     * @param position The position to be probed.
+     * @return UNKNOWN if the position is not in the tablebase, DRAW if it is drawn, or otherwise the number
+     *          of plies until a general is captured, which is odd if the side to move wins and even if it loses.
+     */
+    public int probe(Position position)
+    {
+        if (position.countColor(false) + position.countColor(true) > maxPieces) {
+            return UNKNOWN;
+        }
+        long signature = Table.signatureOf(position);
+        for (Table table : tables) {
+            boolean flipped;
+            if (table.getSignature() == signature) {
+                flipped = false;
+            } else if (table.getFlippedSignature() == signature) {
+                flipped = true;
+            } else {
+                continue;
+            }
+            int index = table.indexOf(position, flipped);
+            if (index < 0) {
+                return UNKNOWN;
+            }
+            int value = table.getValue(index);
+            return value == Table.INVALID ? UNKNOWN : value;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns true if the result of a probe is a win for the side to move.
+     * @param result The result of a probe.
+     * @return True if the side to move wins.
+     */
+    public static boolean isWin(int result)
+    {
+        return result > 0 && result % 2 == 1;
+    }
+
+    /**
+     * Returns true if the result of a probe is a loss for the side to move.
+     * @param result The result of a probe.
+     * @return True if the side to move loses.
+     */
+    public static boolean isLoss(int result)
+    {
+        return result > 0 && result % 2 == 0;
+    }
+
+    /**
+     * Closes the files of the tables.
+     * @throws IOException if a file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        IOException exception = null;
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads the header of a table file and maps its values.
+     */
+    private static Table read(FileChannel channel, Path file) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + 1);
+        if (channel.read(header, 0) != header.capacity()
+                || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a tablebase table: " + file);
+        }
+        int pieceCount = header.get(8);
+        ByteBuffer codes = ByteBuffer.allocate(Math.max(pieceCount, 0));
+        if (pieceCount < 2 || channel.read(codes, header.capacity()) != pieceCount) {
+            throw new IOException("The table is truncated: " + file);
+        }
+        int[] pieces = new int[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = codes.get(i);
+            if (!Position.isPiece(pieces[i])) {
+                throw new IOException("The table has an invalid piece: " + file);
+            }
+        }
+        long offset = header.capacity() + pieceCount;
+        ByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, offset, channel.size() - offset);
+        try {
+            return new Table(pieces, values);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The table does not match its pieces: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package game.tablebase;
+
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the tables of sets of material by retrograde analysis, working backwards from the positions
+ * where the general can be captured. In every pass, the positions with a move to a position lost in one
+ * fewer ply are won, and the positions whose every move leads to a position won for the opponent are lost.
+ * The passes end once neither adds a position, and the rest are drawn. The tables of the material left
+ * after each capture are generated first, since captures lead into them.
+ * Moves are generated by MoveGenerator, which follows the rules of the pieces in game.pieces.
+ * The positions of each pass are divided between the threads of a ForkJoinPool.
+ *
+ * @author Lee Seng Poh, with reference to https://www.chessprogramming.org/Retrograde_Analysis
+ * @version 18-10-2026
+ */
+public class TablebaseGenerator {
+    //The number of positions given to a thread at a time.
+    private static final int CHUNK_SIZE = 4096;
+
+    private final int threadCount;
+    //The tables generated so far, by the signature of their material.
+    private final Map<Long, Table> tables;
+
+    /**
+     * Initialise a generator that uses the specified number of threads.
+     * @param threadCount The number of threads, which must be positive.
+     */
+    public TablebaseGenerator(int threadCount)
+    {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        this.threadCount = threadCount;
+        tables = new HashMap<>();
+    }
+
+    /**
+     * Generates the table of a material, such as "KRKAA", and of every material it can become after
+     * captures, and writes each to a file named after its material in the directory. Tables that were
+     * already generated by this generator are not generated again.
+     * @param material The material, where the first K and the letters following it are the red pieces.
+     * @param directory The directory the tables are written to.
+     * @throws IllegalArgumentException if the material is not valid or its table is too large.
+     * @throws IOException if a table cannot be written.
+     */
+    public void generate(String material, Path directory) throws IOException
+    {
+        generate(Table.parse(material), directory);
+    }
+
+    private Table generate(int[] pieces, Path directory) throws IOException
+    {
+        Table table = new Table(pieces, null);
+        Table generated = tables.get(table.getSignature());
+        if (generated != null) {
+            return generated;
+        }
+        //the tables of the material left after capturing each piece other than the generals.
+        for (int i = 2; i < pieces.length; i++) {
+            if (i == 2 || pieces[i] != pieces[i - 1]) {
+                int[] remaining = new int[pieces.length - 1];
+                System.arraycopy(pieces, 0, remaining, 0, i);
+                System.arraycopy(pieces, i + 1, remaining, i, pieces.length - i - 1);
+                generate(remaining, directory);
+            }
+        }
+
+        fill(table);
+        tables.put(table.getSignature(), table);
+        write(table, directory.resolve(table.getMaterial() + Tablebase.EXTENSION));
+        return table;
+    }
+
+    /**
+     * Computes every value of the table.
+     */
+    private void fill(Table table)
+    {
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try {
+            pool.submit(() -> forEachChunk(table, (worker, index) -> worker.initialise(index))).join();
+            //a capture can lead to a position lost in more plies than any position of this table so far.
+            int longestAfterCapture = 0;
+            for (Table generated : tables.values()) {
+                longestAfterCapture = Math.max(longestAfterCapture, generated.getLongestDistance());
+            }
+            int unchangedPasses = 0;
+            for (int distance = 2; distance <= Table.MAX_DISTANCE
+                    && (unchangedPasses < 2 || distance <= longestAfterCapture + 1); distance++) {
+                int pass = distance;
+                AtomicInteger changed = new AtomicInteger();
+                pool.submit(() -> forEachChunk(table, (worker, index) -> {
+                    if (worker.resolve(index, pass)) {
+                        changed.incrementAndGet();
+                    }
+                })).join();
+                unchangedPasses = changed.get() == 0 ? unchangedPasses + 1 : 0;
+            }
+            table.updateLongestDistance();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the action on every index of the table, in parallel chunks that each have their own worker.
+     */
+    private void forEachChunk(Table table, IndexAction action)
+    {
+        int chunkCount = (table.getSize() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+            Worker worker = new Worker(table);
+            int end = Math.min(table.getSize(), (chunk + 1) * CHUNK_SIZE);
+            for (int index = chunk * CHUNK_SIZE; index < end; index++) {
+                action.run(worker, index);
+            }
+        });
+    }
+
+    private interface IndexAction {
+        void run(Worker worker, int index);
+    }
+
+    /**
+     * Writes a table as its header followed by one byte for every position.
+     */
+    private static void write(Table table, Path path) throws IOException
+    {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(Tablebase.MAGIC);
+            output.writeInt(Tablebase.VERSION);
+            int[] pieces = table.getPieces();
+            output.writeByte(pieces.length);
+            for (int piece : pieces) {
+                output.writeByte(piece);
+            }
+            output.write(table.getValues().array(), 0, table.getSize());
+        }
+    }
+
+    /**
+     * The position and move buffer of one thread, which decodes indices of the table into the position.
+     */
+    private final class Worker {
+        private final Table table;
+        private final Position position;
+        private final int[] squares;
+        private final int[] moves;
+
+        Worker(Table table)
+        {
+            this.table = table;
+            position = new Position(MoveGenerator.WIDTH, MoveGenerator.LENGTH);
+            squares = new int[table.getPieceCount()];
+            moves = new int[MoveGenerator.MAX_MOVES];
+        }
+
+        /**
+         * Sets the value of a position to INVALID if two pieces share a square, or to 1 if the side to
+         * move can capture the enemy general.
+         */
+        void initialise(int index)
+        {
+            if (!place(index)) {
+                table.setValue(index, Table.INVALID);
+                return;
+            }
+            int count = MoveGenerator.generateCaptures(position, position.isBlackToMove(), moves);
+            for (int i = 0; i < count; i++) {
+                if (Position.kindOf(PackedMove.getCaptured(moves[i])) == Position.GENERAL) {
+                    table.setValue(index, 1);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Sets the value of an unresolved position that is won or lost in the specified number of plies.
+         * Values set in the same pass are never read as the distance before it, so that the passes can run
+         * in parallel without changing the result.
+         * @return True if the position was resolved.
+         */
+        boolean resolve(int index, int distance)
+        {
+            if (table.getValue(index) != Table.DRAW) {
+                return false;
+            }
+            place(index);
+            boolean winning = distance % 2 == 1;
+            int count = MoveGenerator.generateMoves(position, position.isBlackToMove(), moves);
+            if (count == 0) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                position.makeMove(move);
+                int value = valueAfter(move);
+                position.unmakeMove(move);
+                if (winning && value == distance - 1) {
+                    table.setValue(index, distance);
+                    return true;
+                }
+                //a move to a position that is not won for the opponent saves this one from losing.
+                if (!winning && (value == Table.DRAW || value % 2 == 0 || value >= distance)) {
+                    return false;
+                }
+            }
+            if (!winning) {
+                table.setValue(index, distance);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns the value of the current position, which was reached by the move, in this table or in the
+         * table of the material left after the capture.
+         */
+        private int valueAfter(int move)
+        {
+            Table target = table;
+            if (PackedMove.isCapture(move)) {
+                target = tables.get(Table.signatureOf(position));
+            }
+            return target.getValue(target.indexOf(position, false));
+        }
+
+        /**
+         * Places the pieces of the index on the position, replacing the pieces placed before.
+         * @return False if two pieces share a square.
+         */
+        private boolean place(int index)
+        {
+            for (int i = 0; i < squares.length; i++) {
+                if (position.getPiece(squares[i]) != Position.EMPTY) {
+                    position.clearSquare(squares[i]);
+                }
+            }
+            position.setBlackToMove(table.decode(index, squares));
+            int[] pieces = table.getPieces();
+            boolean valid = true;
+            for (int i = 0; i < squares.length; i++) {
+                if (position.getPiece(squares[i]) != Position.EMPTY) {
+                    valid = false;
+                } else {
+                    position.setPiece(squares[i], pieces[i]);
+                }
+            }
+            return valid;
+        }
+    }
+
+    /**
+     * Generates tables into a directory.
+     * Usage: TablebaseGenerator directory material... [-threads n]
+     * @param args The directory, the materials such as KRKAA, and optionally the number of threads.
+     * @throws IOException if a table cannot be written.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2) {
+            System.err.println("Usage: TablebaseGenerator directory material... [-threads n]");
+            System.exit(2);
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        int materialCount = args.length - 1;
+        if (args.length >= 4 && args[args.length - 2].equals("-threads")) {
+            threads = Integer.parseInt(args[args.length - 1]);
+            materialCount -= 2;
+        }
+        Path directory = Paths.get(args[0]);
+        Files.createDirectories(directory);
+        TablebaseGenerator generator = new TablebaseGenerator(threads);
+        for (int i = 1; i <= materialCount; i++) {
+            long start = System.nanoTime();
+            generator.generate(args[i], directory);
+            System.out.println(args[i] + ": " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package game.ucci;
+
+import game.ComputerPlayer;
+import game.Fen;
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Position;
+import game.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the computer player as an engine that speaks the Universal Chinese Chess Protocol (UCCI) over
+ * standard input and output, so that it can be driven by tournament managers and analysis programs.
+ * The supported commands are ucci, isready, setoption hashsize and threads, position with a FEN or
+ * startpos followed by moves, go with depth, nodes, time, movetime or infinite, stop and quit.
+ * A search runs in its own thread, so that stop can be received while searching. After every completed
+ * iteration an info line reports the depth, score, time, nodes, nodes per second, hash usage and
+ * principal variation, and the search ends with a bestmove line. An infinite or pondering search only
+ * sends its bestmove after stop is received, even if it finishes searching before.
+ *
+ * @author Lee Seng Poh, with reference to https://www.xqbase.com/protocol/cchess_ucci.htm
+ * @version 18-10-2026
+ */
+public class UcciEngine {
+    public static final String NAME = "ChineseChess";
+    public static final String AUTHOR = "Lee Seng Poh";
+    //The default size of the transposition table in megabytes.
+    public static final int DEFAULT_HASH_SIZE = 16;
+    //The number of moves the remaining time is divided between when the number of moves to go is unknown.
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int ENTRY_BYTES = 16;
+
+    private final BufferedReader input;
+    private final PrintStream output;
+    private final ComputerPlayer player;
+    private Position position;
+    private Thread searchThread;
+    //Released by stop, so that an infinite search does not report its move before then.
+    private CountDownLatch stopSignal;
+
+    /**
+     * Initialise an engine that reads commands from the input and writes responses to the output.
+     * @param input The stream the commands are read from.
+     * @param output The stream the responses are written to.
+     */
+    public UcciEngine(InputStream input, PrintStream output)
+    {
+        this.input = new BufferedReader(new InputStreamReader(input));
+        this.output = output;
+        player = new ComputerPlayer(false, ComputerPlayer.MAX_PLY - 1);
+        player.setTranspositionTable(new TranspositionTable(tableSize(DEFAULT_HASH_SIZE)));
+        position = Fen.toPosition(Fen.STARTING_POSITION);
+    }
+
+    /**
+     * Reads and executes commands until quit is received or the input ends.
+     * @throws IOException if the input cannot be read.
+     */
+    public void run() throws IOException
+    {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (!execute(line)) {
+                break;
+            }
+        }
+        stopSearch();
+    }
+
+    /**
+     * Executes a single command. Unknown commands are ignored.
+     * @param line The command.
+     * @return False if the command was quit.
+     */
+    public boolean execute(String line)
+    {
+        String[] tokens = line.trim().split("\\s+");
+        try {
+            switch (tokens[0]) {
+                case "ucci":
+                    output.println("id name " + NAME);
+                    output.println("id author " + AUTHOR);
+                    output.println("option hashsize type spin min 1 max 1024 default " + DEFAULT_HASH_SIZE);
+                    output.println("option threads type spin min 1 max 256 default 1");
+                    output.println("ucciok");
+                    break;
+                case "isready":
+                    output.println("readyok");
+                    break;
+                case "setoption":
+                    setOption(tokens);
+                    break;
+                case "position":
+                    stopSearch();
+                    position = parsePosition(tokens);
+                    break;
+                case "go":
+                    stopSearch();
+                    go(tokens);
+                    break;
+                case "stop":
+                    stopSearch();
+                    break;
+                case "quit":
+                    stopSearch();
+                    player.shutdown();
+                    output.println("bye");
+                    return false;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            output.println("info string " + e.getMessage());
+        }
+        output.flush();
+        return true;
+    }
+
+    /**
+     * Waits for the search in progress, if any, to finish after asking it to stop.
+     */
+    public void stopSearch()
+    {
+        Thread thread = searchThread;
+        if (thread == null) {
+            return;
+        }
+        stopSignal.countDown();
+        try {
+            //the request is repeated in case the search had not started when it was first made.
+            while (thread.isAlive()) {
+                player.stop();
+                thread.join(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    /**
+     * Returns the position the next search will start from.
+     * @return A copy of the current position.
+     */
+    public Position getPosition()
+    {
+        return new Position(position);
+    }
+
+    private void setOption(String[] tokens)
+    {
+        //both "setoption hashsize 64" and "setoption name hashsize value 64" are accepted.
+        int index = 1;
+        if (tokens.length > index && tokens[index].equals("name")) {
+            index++;
+        }
+        if (tokens.length < index + 2) {
+            throw new IllegalArgumentException("Missing option value.");
+        }
+        String name = tokens[index];
+        String value = tokens[tokens.length - 1];
+        switch (name) {
+            case "hashsize":
+                stopSearch();
+                player.setTranspositionTable(new TranspositionTable(tableSize(Integer.parseInt(value))));
+                break;
+            case "threads":
+                player.setThreadCount(Integer.parseInt(value));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Returns the position of a position command, which is a FEN or startpos, optionally followed by
+     * moves and the moves played from it.
+     */
+    private Position parsePosition(String[] tokens)
+    {
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("Missing position.");
+        }
+        int index = 1;
+        Position parsed;
+        if (tokens[index].equals("startpos")) {
+            parsed = Fen.toPosition(Fen.STARTING_POSITION);
+            index++;
+        } else if (tokens[index].equals("fen")) {
+            StringBuilder fen = new StringBuilder();
+            index++;
+            while (index < tokens.length && !tokens[index].equals("moves")) {
+                fen.append(tokens[index++]).append(' ');
+            }
+            parsed = Fen.toPosition(fen.toString());
+        } else {
+            throw new IllegalArgumentException("Invalid position: " + tokens[index]);
+        }
+
+        if (index < tokens.length && tokens[index].equals("moves")) {
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            for (index++; index < tokens.length; index++) {
+                int move = PackedMove.fromNotation(tokens[index], parsed);
+                int count = MoveGenerator.generateLegalMoves(parsed, parsed.isBlackToMove(), moves);
+                boolean found = false;
+                for (int i = 0; i < count && !found; i++) {
+                    found = moves[i] == move;
+                }
+                if (!found) {
+                    throw new IllegalArgumentException("Illegal move: " + tokens[index]);
+                }
+                parsed.makeMove(move);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Starts a search of the current position with the limits of a go command.
+     */
+    private void go(String[] tokens)
+    {
+        int depth = ComputerPlayer.MAX_PLY - 1;
+        long nodes = 0;
+        long time = 0;
+        long moveTime = 0;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        boolean isInfinite = false;
+        for (int i = 1; i < tokens.length; i++) {
+            String value = i + 1 < tokens.length ? tokens[i + 1] : null;
+            switch (tokens[i]) {
+                case "depth":
+                    depth = Integer.parseInt(value);
+                    i++;
+                    break;
+                case "nodes":
+                    nodes = Long.parseLong(value);
+                    i++;
+                    break;
+                case "time":
+                    time = Long.parseLong(value);
+                    i++;
+                    break;
+                case "movetime":
+                    moveTime = Long.parseLong(value);
+                    i++;
+                    break;
+                case "increment":
+                    increment = Long.parseLong(value);
+                    i++;
+                    break;
+                case "movestogo":
+                    movesToGo = Math.max(1, Integer.parseInt(value));
+                    i++;
+                    break;
+                case "infinite":
+                case "ponder":
+                    isInfinite = true;
+                    break;
+                default:
+                    break;      //draw offers are ignored.
+            }
+        }
+        if (moveTime == 0 && time > 0) {
+            //leave a margin, so that the clock does not run out while the move is sent.
+            moveTime = Math.max(1, Math.min(time / movesToGo + increment, time - time / 10));
+        }
+        player.setTimeLimit(moveTime);
+        player.setNodeLimit(nodes);
+
+        Position searched = new Position(position);
+        int maxDepth = Math.max(1, depth);
+        long start = System.nanoTime();
+        player.setSearchListener((iterationDepth, score, nodeCount, principalVariation) ->
+                printInfo(iterationDepth, score, nodeCount, principalVariation, start));
+        CountDownLatch signal = new CountDownLatch(isInfinite ? 1 : 0);
+        stopSignal = signal;
+        searchThread = new Thread(() -> {
+            int bestMove = player.search(searched, maxDepth);
+            try {
+                signal.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (bestMove == PackedMove.NONE) {
+                output.println("nobestmove");
+            } else {
+                output.println("bestmove " + PackedMove.toNotation(bestMove));
+            }
+            output.flush();
+        }, "UCCI search");
+        searchThread.start();
+    }
+
+    private void printInfo(int depth, int score, long nodeCount, int[] principalVariation, long start)
+    {
+        long elapsed = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        StringBuilder info = new StringBuilder("info depth ").append(depth);
+        if (ComputerPlayer.isMateScore(score)) {
+            int plies = ComputerPlayer.MATE_SCORE - Math.abs(score);
+            info.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies / 2));
+        } else {
+            info.append(" score ").append(score);
+        }
+        info.append(" time ").append(elapsed)
+                .append(" nodes ").append(nodeCount)
+                .append(" nps ").append(nodeCount * 1000 / elapsed)
+                .append(" hashfull ").append(player.getTranspositionTable().getUsage());
+        if (principalVariation.length > 0) {
+            info.append(" pv");
+            for (int move : principalVariation) {
+                info.append(' ').append(PackedMove.toNotation(move));
+            }
+        }
+        output.println(info);
+        output.flush();
+    }
+
+    /**
+     * Returns the largest power of two number of entries that fits in the specified number of megabytes.
+     */
+    private static int tableSize(int megabytes)
+    {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("The hash size must be positive.");
+        }
+        long entries = (long) megabytes * 1024 * 1024 / ENTRY_BYTES;
+        return Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        new UcciEngine(System.in, System.out).run();
+    }
+}
@@ -0,0 +1,9 @@
+module ChineseChess.engine {
+    exports game;
+    exports game.book;
+    exports game.evaluation;
+    exports game.pieces;
+    exports game.record;
+    exports game.tablebase;
+    exports game.ucci;
+}
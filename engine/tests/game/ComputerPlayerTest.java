@@ -0,0 +1,410 @@
+package game;
+
+import game.evaluation.Evaluator;
+import game.evaluation.MaterialEvaluator;
+import game.evaluation.PieceSquareEvaluator;
+import game.evaluation.TaperedEvaluator;
+import game.pieces.Chariot;
+import game.pieces.General;
+import game.pieces.Horse;
+import game.pieces.Piece;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ComputerPlayer.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class ComputerPlayerTest {
+    //The score of capturing the general with the first move.
+    private static final int MATE_IN_ONE = ComputerPlayer.MATE_SCORE - 1;
+
+    @Test
+    public void init()
+    {
+        boolean isBlack = true;
+        Game game = new Game();
+        ComputerPlayer player = new ComputerPlayer(isBlack, game, 20);
+        assertEquals(isBlack, player.isBlack());
+        assertTrue(player.isComputer());
+    }
+
+    @Test
+    public void decideMove_StartingPosition_GameUnchanged()
+    {
+        Game game = new Game();
+        game.setComputerGame(2);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(7, 2)), new Location(4, 2)));
+        Position before = game.getPosition();
+
+        Move move = player.decideMove();
+        assertTrue(move.canMove());
+        assertTrue(move.getPiece().isBlack());
+        assertEquals(game.getCurrentPlayer(), player);
+        Position after = game.getPosition();
+        for (int i = 0; i < before.getSquareCount(); i++) {
+            assertEquals(before.getPiece(i), after.getPiece(i));
+        }
+    }
+
+    @Test
+    public void decideMove_FreePiece_Captured()
+    {
+        Board board = new Board(9, 10);
+        Game game = new Game(board);
+        game.setComputerGame(2);
+        addPiece(game, board, new General(board, false), new Location(3, 0));
+        addPiece(game, board, new General(board, true), new Location(5, 9));
+        addPiece(game, board, new Chariot(board, false), new Location(0, 5));
+        addPiece(game, board, new Horse(board, true), new Location(7, 7));
+        assertTrue(game.move(game.getPiece(new Location(0, 5)), new Location(6, 5)));
+
+        Move move = ((ComputerPlayer) game.getPlayer(true)).decideMove();
+        assertEquals(new Location(7, 7), move.getMoveFromLocation());
+        assertEquals(new Location(6, 5), move.getMoveToLocation());
+    }
+
+    @Test
+    public void decideMove_SharedTable_SameMoveAsFreshTable()
+    {
+        Game game = new Game();
+        game.setComputerGame(3);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(1, 6)));
+
+        player.setTranspositionTable(new TranspositionTable(1 << 16));
+        Move first = player.decideMove();
+        Move second = player.decideMove();
+        assertEquals(first.getMoveFromLocation(), second.getMoveFromLocation());
+        assertEquals(first.getMoveToLocation(), second.getMoveToLocation());
+    }
+
+    @Test
+    public void decideMove_NoBudget_AllIterationsCompleted()
+    {
+        Game game = new Game();
+        game.setComputerGame(3);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+        player.decideMove();
+        assertEquals(3, player.getCompletedDepth());
+    }
+
+    @Test
+    public void decideMove_NodeLimit_StopsEarlyWithMove()
+    {
+        Game game = new Game();
+        game.setComputerGame(20);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        player.setNodeLimit(5000);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+
+        Move move = player.decideMove();
+        assertTrue(move.canMove());
+        assertTrue(player.getCompletedDepth() >= 1);
+        assertTrue(player.getCompletedDepth() < 20);
+    }
+
+    @Test
+    public void decideMove_TimeLimit_ReturnsInTime()
+    {
+        Game game = new Game();
+        game.setComputerGame(30, 200);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+
+        long start = System.currentTimeMillis();
+        Move move = player.decideMove();
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(move.canMove());
+        assertTrue(elapsed < 2000, "The search took " + elapsed + " ms.");
+    }
+
+    @Test
+    public void decideMove_GeneralCapturable_MateScoreAndPrincipalVariation()
+    {
+        //red has left its general capturable, which only a position set up this way allows.
+        Game game = new Game("4k4/9/9/9/3r5/9/9/9/8R/3K5 b");
+        game.setComputerGame(4);
+
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        Move move = player.decideMove();
+        assertEquals(new Location(3, 5), move.getMoveFromLocation());
+        assertTrue(ComputerPlayer.isMateScore(player.getScore()));
+        assertTrue(player.getScore() > 0);
+
+        int[] principalVariation = player.getPrincipalVariation();
+        assertTrue(principalVariation.length >= 1);
+        Position position = game.getPosition();
+        assertEquals(position.square(3, 5), PackedMove.getFrom(principalVariation[0]));
+    }
+
+    @Test
+    public void decideMove_StartingPosition_PrincipalVariationIsPlayable()
+    {
+        Game game = new Game();
+        game.setComputerGame(4);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+        player.decideMove();
+
+        Position position = game.getPosition();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int move : player.getPrincipalVariation()) {
+            int count = MoveGenerator.generateMoves(position, position.isBlackToMove(), moves);
+            boolean found = false;
+            for (int i = 0; i < count; i++) {
+                found = found || moves[i] == move;
+            }
+            assertTrue(found, "The principal variation contains a move that cannot be made.");
+            position.makeMove(move);
+        }
+        assertFalse(ComputerPlayer.isMateScore(player.getScore()));
+    }
+
+    @Test
+    public void decideMove_DefendedPieceAtHorizon_NotCaptured()
+    {
+        Board board = new Board(9, 10);
+        Game game = new Game(board);
+        Game.setPalace(board);
+        game.setComputerGame(1);
+        addPiece(game, board, new General(board, false), new Location(3, 0));
+        addPiece(game, board, new General(board, true), new Location(5, 9));
+        addPiece(game, board, new Chariot(board, false), new Location(0, 2));
+        addPiece(game, board, new Horse(board, false), new Location(4, 3));
+        addPiece(game, board, new Chariot(board, true), new Location(4, 7));
+        assertTrue(game.move(game.getPiece(new Location(0, 2)), new Location(0, 3)));
+
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        Move move = player.decideMove();
+        assertNotEquals(new Location(4, 3), move.getMoveToLocation(), "The chariot should not be traded for a horse.");
+        assertTrue(player.getScore() > -150, "Only the horse should be missing: " + player.getScore());
+    }
+
+    @Test
+    public void decideMove_QuiescenceChecks_MoveDecided()
+    {
+        Game game = new Game();
+        game.setComputerGame(3);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertFalse(player.isQuiescenceChecks());
+        player.setQuiescenceChecks(true);
+        assertTrue(player.isQuiescenceChecks());
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+
+        Move move = player.decideMove();
+        assertTrue(move.canMove());
+        assertFalse(ComputerPlayer.isMateScore(player.getScore()));
+    }
+
+    @Test
+    public void setEvaluator_Null_Exception()
+    {
+        ComputerPlayer player = new ComputerPlayer(true, new Game(), 2);
+        assertInstanceOf(PieceSquareEvaluator.class, player.getEvaluator());
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> player.setEvaluator(null));
+        assertEquals("The evaluator cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    public void decideMove_EachEvaluator_FreePieceCaptured()
+    {
+        for (Evaluator evaluator : new Evaluator[] {new MaterialEvaluator(), new TaperedEvaluator()}) {
+            for (ComputerPlayer.SearchMode searchMode : ComputerPlayer.SearchMode.values()) {
+                ComputerPlayer player = new ComputerPlayer(true, 2);
+                player.setEvaluator(evaluator);
+                player.setSearchMode(searchMode);
+                Position position = Fen.toPosition("5k3/9/7n1/9/6R2/9/9/9/9/3K5 b");
+                int move = player.search(position, 2);
+                assertEquals(position.square(7, 7), PackedMove.getFrom(move));
+                assertEquals(position.square(6, 5), PackedMove.getTo(move));
+                assertSame(evaluator, player.getEvaluator());
+            }
+        }
+    }
+
+    @Test
+    public void setThreadCount_NotPositive_Exception()
+    {
+        ComputerPlayer player = new ComputerPlayer(true, new Game(), 2);
+        assertEquals(1, player.getThreadCount());
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> player.setThreadCount(0));
+        assertEquals("The number of threads must be positive.", exception.getMessage());
+    }
+
+    @Test
+    public void decideMove_SeveralThreads_GameUnchangedAndPieceCaptured()
+    {
+        Board board = new Board(9, 10);
+        Game game = new Game(board);
+        game.setComputerGame(4);
+        addPiece(game, board, new General(board, false), new Location(3, 0));
+        addPiece(game, board, new General(board, true), new Location(5, 9));
+        addPiece(game, board, new Chariot(board, false), new Location(0, 5));
+        addPiece(game, board, new Horse(board, true), new Location(7, 7));
+        assertTrue(game.move(game.getPiece(new Location(0, 5)), new Location(6, 5)));
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        player.setThreadCount(4);
+        Position before = game.getPosition();
+
+        Move move = player.decideMove();
+        assertEquals(new Location(7, 7), move.getMoveFromLocation());
+        assertEquals(new Location(6, 5), move.getMoveToLocation());
+        assertEquals(4, player.getCompletedDepth());
+        Position after = game.getPosition();
+        for (int i = 0; i < before.getSquareCount(); i++) {
+            assertEquals(before.getPiece(i), after.getPiece(i));
+        }
+    }
+
+    @Test
+    public void decideMove_SeveralThreadsWithTimeLimit_ReturnsInTime()
+    {
+        Game game = new Game();
+        game.setComputerGame(30, 200);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        player.setThreadCount(4);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+
+        long start = System.currentTimeMillis();
+        Move move = player.decideMove();
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(move.canMove());
+        assertTrue(elapsed < 2000, "The search took " + elapsed + " ms.");
+        assertTrue(player.getNodeCount() > 0);
+    }
+
+    @Test
+    public void setSearchMode_Null_Exception()
+    {
+        ComputerPlayer player = new ComputerPlayer(true, new Game(), 2);
+        assertEquals(ComputerPlayer.SearchMode.SHARED_TABLE, player.getSearchMode());
+        assertThrows(IllegalArgumentException.class, () -> player.setSearchMode(null));
+    }
+
+    @Test
+    public void decideMove_RootSplit_SameScoreAsSharedTable()
+    {
+        Game game = new Game();
+        game.setComputerGame(3);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+        Position before = game.getPosition();
+        player.decideMove();
+        int sharedTableScore = player.getScore();
+
+        player.setTranspositionTable(new TranspositionTable(1 << 16));
+        player.setSearchMode(ComputerPlayer.SearchMode.ROOT_SPLIT);
+        player.setThreadCount(3);
+        Move move = player.decideMove();
+        assertTrue(move.canMove());
+        assertEquals(3, player.getCompletedDepth());
+        assertEquals(sharedTableScore, player.getScore());
+        assertEquals(game.getPosition().square(move.getMoveFromLocation().getX(), move.getMoveFromLocation().getY()),
+                PackedMove.getFrom(player.getPrincipalVariation()[0]));
+        Position after = game.getPosition();
+        for (int i = 0; i < before.getSquareCount(); i++) {
+            assertEquals(before.getPiece(i), after.getPiece(i));
+        }
+    }
+
+    @Test
+    public void decideMove_RootSplitGeneralCapturable_MateScore()
+    {
+        //red has left its general capturable, which only a position set up this way allows.
+        Game game = new Game("4k4/9/9/9/3r5/9/9/9/8R/3K5 b");
+        game.setComputerGame(4);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        player.setSearchMode(ComputerPlayer.SearchMode.ROOT_SPLIT);
+        player.setThreadCount(2);
+
+        Move move = player.decideMove();
+        assertEquals(new Location(3, 5), move.getMoveFromLocation());
+        assertEquals(MATE_IN_ONE, player.getScore());
+    }
+
+    @Test
+    public void search_RootSplitAfterShutdown_SameScore()
+    {
+        ComputerPlayer player = new ComputerPlayer(false, 3);
+        player.setSearchMode(ComputerPlayer.SearchMode.ROOT_SPLIT);
+        player.setThreadCount(2);
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        assertNotEquals(PackedMove.NONE, player.search(position, 3));
+        int score = player.getScore();
+
+        player.shutdown();
+        player.setTranspositionTable(new TranspositionTable(1 << 16));
+        assertNotEquals(PackedMove.NONE, player.search(position, 3));
+        assertEquals(score, player.getScore());
+        player.setThreadCount(3);       //replaces the threads kept by the player.
+        player.setTranspositionTable(new TranspositionTable(1 << 16));
+        assertNotEquals(PackedMove.NONE, player.search(position, 3));
+        assertEquals(score, player.getScore());
+        player.shutdown();
+        player.shutdown();
+    }
+
+    @Test
+    public void decideMove_RootSplitWithTimeLimit_ReturnsInTime()
+    {
+        Game game = new Game();
+        game.setComputerGame(30, 200);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        player.setSearchMode(ComputerPlayer.SearchMode.ROOT_SPLIT);
+        player.setThreadCount(2);
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+
+        long start = System.currentTimeMillis();
+        Move move = player.decideMove();
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(move.canMove());
+        assertTrue(elapsed < 2000, "The search took " + elapsed + " ms.");
+    }
+
+    @Test
+    public void search_ListenerSet_CalledForEachIteration()
+    {
+        ComputerPlayer player = new ComputerPlayer(false, 3);
+        List<Integer> depths = new ArrayList<>();
+        player.setSearchListener((depth, score, nodeCount, principalVariation) -> {
+            depths.add(depth);
+            assertTrue(nodeCount > 0);
+            assertTrue(principalVariation.length > 0);
+        });
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+
+        int move = player.search(position, 3);
+        assertNotEquals(PackedMove.NONE, move);
+        assertEquals(List.of(1, 2, 3), depths);
+        assertEquals(Fen.STARTING_POSITION, Fen.fromPosition(position));
+    }
+
+    @Test
+    public void stop_InfiniteSearch_ReturnsMove() throws InterruptedException
+    {
+        ComputerPlayer player = new ComputerPlayer(false, ComputerPlayer.MAX_PLY - 1);
+        int[] result = new int[1];
+        Thread thread = new Thread(() -> result[0] = player.search(Fen.toPosition(Fen.STARTING_POSITION),
+                ComputerPlayer.MAX_PLY - 1));
+        thread.start();
+        Thread.sleep(200);
+        player.stop();
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertNotEquals(PackedMove.NONE, result[0]);
+    }
+
+    private void addPiece(Game game, Board board, Piece piece, Location location)
+    {
+        board.setPiece(piece, location);
+        game.getPlayer(piece).addPiece(piece);
+    }
+}
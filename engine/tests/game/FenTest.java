@@ -0,0 +1,65 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Fen.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class FenTest {
+
+    @Test
+    public void toPosition_StartingPosition_SameAsNewGame()
+    {
+        Position expected = new Game().getPosition();
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        assertEquals(expected.getKey(), position.getKey());
+        for (int square = 0; square < position.getSquareCount(); square++) {
+            assertEquals(expected.getPiece(square), position.getPiece(square));
+        }
+        assertFalse(position.isBlackToMove());
+    }
+
+    @Test
+    public void fromPosition_StartingPosition_RoundTrips()
+    {
+        assertEquals(Fen.STARTING_POSITION, Fen.fromPosition(Fen.toPosition(Fen.STARTING_POSITION)));
+    }
+
+    @Test
+    public void toPosition_BlackToMoveWithAliases_Parsed()
+    {
+        Position position = Fen.toPosition("3k5/9/9/9/9/9/9/4E4/4H4/4K4 b");
+        assertTrue(position.isBlackToMove());
+        assertEquals(Position.pieceCode(Position.GENERAL, true), position.getPiece(position.square(3, 9)));
+        assertEquals(Position.pieceCode(Position.ELEPHANT, false), position.getPiece(position.square(4, 2)));
+        assertEquals(Position.pieceCode(Position.HORSE, false), position.getPiece(position.square(4, 1)));
+        assertEquals("3k5/9/9/9/9/9/9/4B4/4N4/4K4 b - - 0 1", Fen.fromPosition(position));
+    }
+
+    @Test
+    public void toPosition_InvalidFen_ThrowsException()
+    {
+        assertThrows(IllegalArgumentException.class, () -> Fen.toPosition("9/9/9 w"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.toPosition("4k5/9/9/9/9/9/9/9/9/4K4 w"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.toPosition("4k3/9/9/9/9/9/9/9/9/4K4 w"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.toPosition("4x4/9/9/9/9/9/9/9/9/4K4 w"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.toPosition("4k4/9/9/9/9/9/9/9/9/4K4 x"));
+    }
+
+    @Test
+    public void toBoard_StartingPosition_PalaceRiverAndPieces()
+    {
+        Board board = Fen.toBoard(Fen.STARTING_POSITION);
+        assertTrue(board.isPalace(new Location(4, 1)));
+        assertTrue(board.isPalace(new Location(3, 9)));
+        assertFalse(board.isPalace(new Location(2, 0)));
+        assertTrue(board.isRiverEdge(new Location(0, 4)));
+        assertTrue(board.isRiverEdge(new Location(8, 5)));
+        assertEquals(new Game().getKey(), board.getKey());
+        assertEquals(Fen.STARTING_POSITION, Fen.fromBoard(board));
+    }
+}
@@ -289,4 +289,98 @@ class GameTest {
 
         assertEquals(game.evaluateScore(!isBlack), -1000000);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void init_StartingFen_SameAsNewGame()
+    {
+        Game game = new Game(Fen.STARTING_POSITION);
+        assertEquals(new Game().getKey(), game.getKey());
+        assertEquals(game.getPlayer(false), game.getCurrentPlayer());
+        assertEquals(16, game.getPlayer(true).getPieces().size());
+        assertEquals(Fen.STARTING_POSITION, game.toFen());
+    }
+
+    @Test
+    public void init_FenBlackToMove_BlackPlaysFirst()
+    {
+        String fen = "3k5/9/9/9/4P4/9/9/9/9/4K4 b - - 0 1";
+        Game game = new Game(fen);
+        assertEquals(game.getPlayer(true), game.getCurrentPlayer());
+        assertTrue(game.checkOngoing());
+        assertTrue(game.move(game.getPiece(new Location(3, 9)), new Location(3, 8)));
+        assertEquals("9/3k5/9/9/4P4/9/9/9/9/4K4 w - - 0 1", game.toFen());
+    }
+
+    @Test
+    public void init_FenSoldierAcrossRiver_MovesSideways()
+    {
+        Game game = new Game("3k5/9/9/9/4P4/9/9/9/9/4K4 w");
+        Piece soldier = game.getPiece(new Location(4, 5));
+        assertInstanceOf(Soldier.class, soldier);
+        assertEquals(3, soldier.getMoves().size());
+        assertTrue(game.move(soldier, new Location(3, 5)));
+    }
+
+    @Test
+    public void init_FenWithoutGeneral_GameOver()
+    {
+        Game game = new Game("9/9/9/9/9/9/9/9/9/4K4 w");
+        assertFalse(game.checkOngoing());
+        assertEquals(game.getPlayer(false), game.getWinner());
+    }
+
+    @Test
+    public void move_Checkmate_GameOver()
+    {
+        Game game = new Game("4k4/R8/9/9/8R/9/9/9/9/3K5 w");
+        assertTrue(game.checkOngoing());
+        assertFalse(game.isCheckmate());
+        assertTrue(game.move(game.getPiece(new Location(8, 5)), new Location(8, 9)));
+        assertTrue(game.isInCheck());
+        assertTrue(game.isCheckmate());
+        assertFalse(game.isStalemate());
+        assertFalse(game.checkOngoing());
+        assertEquals(game.getPlayer(false), game.getWinner());
+        assertTrue(game.getCurrentPlayer().getMoves().isEmpty());
+    }
+
+    @Test
+    public void move_Stalemate_GameOver()
+    {
+        Game game = new Game("4k4/9/R8/9/5R3/9/9/9/9/3K5 w");
+        assertTrue(game.move(game.getPiece(new Location(0, 7)), new Location(0, 8)));
+        assertFalse(game.isInCheck());
+        assertFalse(game.isCheckmate());
+        assertTrue(game.isStalemate());
+        assertFalse(game.checkOngoing());
+        assertEquals(game.getPlayer(false), game.getWinner());
+    }
+
+    @Test
+    public void getMoves_PinnedChariot_OnlyMovesAlongPin()
+    {
+        Game game = new Game("3k5/4r4/9/9/9/9/4R4/9/9/4K4 w");
+        int chariotMoves = 0;
+        for (Move move : game.getCurrentPlayer().getMoves()) {
+            if (move.getPiece() instanceof Chariot) {
+                assertEquals(4, move.getMoveToLocation().getX());
+                chariotMoves++;
+            }
+        }
+        assertEquals(7, chariotMoves);
+        assertFalse(game.isInCheck());
+    }
+
+    @Test
+    public void move_PinnedChariotLeavesFile_False()
+    {
+        Game game = new Game("4k4/9/9/9/9/9/9/9/4R4/4K4 w");
+        Piece chariot = game.getPiece(new Location(4, 1));
+        assertFalse(game.move(chariot, new Location(0, 1)));      //the generals would face each other.
+        assertEquals(chariot, game.getPiece(new Location(4, 1)));
+        assertEquals(game.getPlayer(false), game.getCurrentPlayer());
+        assertFalse(game.getPlayer(false).hasMoved());
+        assertEquals(8, game.getCurrentPlayer().getMoves(chariot).size());
+        assertTrue(game.move(chariot, new Location(4, 9)));
+    }
+}
@@ -0,0 +1,327 @@
+package game;
+
+import game.pieces.*;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MoveGenerator.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class MoveGeneratorTest {
+    private Position position;
+    private int[] moves;
+
+    @BeforeEach
+    void setUp()
+    {
+        position = new Position(9, 10);
+        moves = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        position = null;
+        moves = null;
+    }
+
+    @Test
+    public void generateMoves_StartingPosition_44Moves()
+    {
+        Game game = new Game();
+        Position start = toPosition(game);
+        assertEquals(44, MoveGenerator.generateMoves(start, false, moves));
+        assertEquals(44, MoveGenerator.generateMoves(start, true, moves));
+    }
+
+    @Test
+    public void generateMoves_WrongDimensions_Exception()
+    {
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveGenerator.generateMoves(new Position(8, 9), false, moves));
+    }
+
+    @Test
+    public void generateMoves_GeneralsFacing_FlyingGeneralCapture()
+    {
+        int blackGeneral = Position.pieceCode(Position.GENERAL, true);
+        position.setPiece(position.square(4, 0), Position.GENERAL);
+        position.setPiece(position.square(4, 9), blackGeneral);
+
+        int count = MoveGenerator.generateMoves(position, false, moves);
+        Set<Integer> generated = toSet(moves, count);
+        assertTrue(generated.contains(PackedMove.encode(position.square(4, 0), position.square(4, 9), blackGeneral)));
+
+        position.setPiece(position.square(4, 5), Position.SOLDIER);
+        count = MoveGenerator.generateMoves(position, false, moves);
+        for (int i = 0; i < count; i++) {
+            assertFalse(PackedMove.isCapture(moves[i]), "The general should be blocked.");
+        }
+    }
+
+    @Test
+    public void generateMoves_CannonWithScreen_CapturesBeyondScreen()
+    {
+        int blackHorse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(position.square(0, 0), Position.CANNON);
+        position.setPiece(position.square(0, 3), Position.SOLDIER);
+        position.setPiece(position.square(0, 7), blackHorse);
+
+        int count = MoveGenerator.generateMoves(position, false, moves);
+        Set<Integer> generated = toSet(moves, count);
+        assertTrue(generated.contains(PackedMove.encode(position.square(0, 0), position.square(0, 7), blackHorse)));
+        assertFalse(generated.contains(PackedMove.encode(position.square(0, 0), position.square(0, 3), Position.SOLDIER)));
+    }
+
+    @Test
+    public void generateMoves_HorseLegBlocked_NoMoveInThatDirection()
+    {
+        position.setPiece(position.square(4, 4), Position.HORSE);
+        position.setPiece(position.square(4, 5), Position.pieceCode(Position.SOLDIER, true));
+
+        int count = MoveGenerator.generatePieceMoves(position, position.square(4, 4), moves, 0);
+        assertEquals(6, count);
+        Set<Integer> generated = toSet(moves, count);
+        assertFalse(generated.contains(PackedMove.encode(position.square(4, 4), position.square(5, 6), Position.EMPTY)));
+        assertFalse(generated.contains(PackedMove.encode(position.square(4, 4), position.square(3, 6), Position.EMPTY)));
+    }
+
+    @Test
+    public void generateMoves_ElephantOnRiverEdge_CannotCross()
+    {
+        position.setPiece(position.square(2, 4), Position.ELEPHANT);
+        int count = MoveGenerator.generatePieceMoves(position, position.square(2, 4), moves, 0);
+        assertEquals(2, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(2, position.getY(PackedMove.getTo(moves[i])));
+        }
+    }
+
+    @Test
+    public void generateLegalMoves_RandomGames_SameAsPieceRules()
+    {
+        Random random = new Random(20261018);
+        for (int i = 0; i < 10; i++) {
+            Game game = new Game();
+            for (int ply = 0; ply < 60; ply++) {
+                Player player = game.getCurrentPlayer();
+                ArrayList<Move> pieceMoves = player.getMoves();
+                Position current = toPosition(game);
+                int count = MoveGenerator.generateLegalMoves(current, player.isBlack(), moves);
+
+                assertEquals(toSet(current, pieceMoves), toSet(moves, count), "Game " + i + ", ply " + ply);
+                assertEquals(pieceMoves.size(), count);
+                if (pieceMoves.isEmpty()) {
+                    break;
+                }
+                game.move(pieceMoves.get(random.nextInt(pieceMoves.size())));
+            }
+        }
+    }
+
+    @Test
+    public void generateCaptures_RandomGames_SameAsCapturingMoves()
+    {
+        Random random = new Random(20261018);
+        int[] captures = new int[MoveGenerator.MAX_MOVES];
+        for (int i = 0; i < 10; i++) {
+            Game game = new Game();
+            for (int ply = 0; ply < 60; ply++) {
+                Player player = game.getCurrentPlayer();
+                Position current = toPosition(game);
+                int count = MoveGenerator.generateMoves(current, player.isBlack(), moves);
+                Set<Integer> expected = new HashSet<>();
+                for (int j = 0; j < count; j++) {
+                    if (PackedMove.isCapture(moves[j])) {
+                        expected.add(moves[j]);
+                    }
+                }
+                int captureCount = MoveGenerator.generateCaptures(current, player.isBlack(), captures);
+
+                assertEquals(expected, toSet(captures, captureCount), "Game " + i + ", ply " + ply);
+                assertEquals(expected.size(), captureCount);
+                ArrayList<Move> pieceMoves = player.getMoves();
+                if (pieceMoves.isEmpty()) {
+                    break;
+                }
+                game.move(pieceMoves.get(random.nextInt(pieceMoves.size())));
+            }
+        }
+    }
+
+    @Test
+    public void isSquareAttacked_RandomGames_SameAsGeneratedCaptures()
+    {
+        Random random = new Random(20261018);
+        int[] captures = new int[MoveGenerator.MAX_MOVES];
+        for (int i = 0; i < 50; i++) {
+            Position current = Fen.toPosition(Fen.STARTING_POSITION);
+            for (int ply = 0; ply < 100; ply++) {
+                for (boolean byBlack : new boolean[] {false, true}) {
+                    int count = MoveGenerator.generateCaptures(current, byBlack, captures);
+                    Set<Integer> captured = new HashSet<>();
+                    for (int j = 0; j < count; j++) {
+                        captured.add(PackedMove.getTo(captures[j]));
+                    }
+                    for (int square = 0; square < current.getSquareCount(); square++) {
+                        int piece = current.getPiece(square);
+                        if (piece != Position.EMPTY && Position.isBlack(piece) != byBlack) {
+                            assertEquals(captured.contains(square), MoveGenerator.isSquareAttacked(current, square, byBlack),
+                                    "Game " + i + ", ply " + ply + ", square " + square);
+                        }
+                    }
+                    assertEquals(captured.contains(current.findPiece(Position.pieceCode(Position.GENERAL, !byBlack))),
+                            MoveGenerator.isInCheck(current, !byBlack));
+                }
+                int count = MoveGenerator.generateMoves(current, current.isBlackToMove(), moves);
+                int move = moves[random.nextInt(count)];
+                if (Position.kindOf(PackedMove.getCaptured(move)) == Position.GENERAL) {
+                    break;
+                }
+                current.makeMove(move);
+            }
+        }
+    }
+
+    @Test
+    public void isSquareAttacked_BlockedAttackers_NotAttacked()
+    {
+        int target = position.square(4, 4);
+        position.setPiece(position.square(5, 6), Position.HORSE);
+        assertTrue(MoveGenerator.isSquareAttacked(position, target, false));
+        position.setPiece(position.square(5, 5), Position.pieceCode(Position.SOLDIER, true));      //the horse leg.
+        assertFalse(MoveGenerator.isSquareAttacked(position, target, false));
+
+        position.setPiece(position.square(4, 0), Position.CANNON);
+        assertFalse(MoveGenerator.isSquareAttacked(position, target, false));
+        position.setPiece(position.square(4, 2), Position.pieceCode(Position.ADVISOR, true));      //a screen.
+        assertTrue(MoveGenerator.isSquareAttacked(position, target, false));
+        position.setPiece(position.square(4, 3), Position.ADVISOR);        //two screens.
+        assertFalse(MoveGenerator.isSquareAttacked(position, target, false));
+        assertFalse(MoveGenerator.isSquareAttacked(position, target, true));
+    }
+
+    @Test
+    public void isInCheck_GeneralsFacing_BothInCheck()
+    {
+        position.setPiece(position.square(4, 0), Position.GENERAL);
+        position.setPiece(position.square(4, 9), Position.pieceCode(Position.GENERAL, true));
+        assertTrue(MoveGenerator.isInCheck(position, false));
+        assertTrue(MoveGenerator.isInCheck(position, true));
+        //the general flies only at the enemy general, or at an empty square it could not move to.
+        assertTrue(MoveGenerator.isSquareAttacked(position, position.square(4, 8), false));
+        position.setPiece(position.square(4, 8), Position.pieceCode(Position.ADVISOR, true));
+        assertFalse(MoveGenerator.isSquareAttacked(position, position.square(4, 8), false));
+        assertFalse(MoveGenerator.isInCheck(position, true));
+        assertFalse(MoveGenerator.isInCheck(new Position(9, 10), false));
+    }
+
+    @Test
+    public void generateLegalMoves_RandomGames_SameAsMovesNotLeavingCheck()
+    {
+        Random random = new Random(20261018);
+        int[] legalMoves = new int[MoveGenerator.MAX_MOVES];
+        for (int i = 0; i < 50; i++) {
+            Position current = Fen.toPosition(Fen.STARTING_POSITION);
+            for (int ply = 0; ply < 100; ply++) {
+                boolean isBlack = current.isBlackToMove();
+                int count = MoveGenerator.generateMoves(current, isBlack, moves);
+                Set<Integer> expected = new HashSet<>();
+                for (int j = 0; j < count; j++) {
+                    current.makeMove(moves[j]);
+                    if (!MoveGenerator.isInCheck(current, isBlack)) {
+                        expected.add(moves[j]);
+                    }
+                    current.unmakeMove(moves[j]);
+                }
+                int legalCount = MoveGenerator.generateLegalMoves(current, isBlack, legalMoves);
+                assertEquals(expected, toSet(legalMoves, legalCount), "Game " + i + ", ply " + ply);
+                if (legalCount == 0) {
+                    break;
+                }
+                current.makeMove(legalMoves[random.nextInt(legalCount)]);
+            }
+        }
+    }
+
+    @Test
+    public void generateLegalMoves_PinnedChariot_OnlyMovesAlongPin()
+    {
+        position.setPiece(position.square(4, 0), Position.GENERAL);
+        position.setPiece(position.square(4, 3), Position.CHARIOT);
+        position.setPiece(position.square(4, 8), Position.pieceCode(Position.CHARIOT, true));
+        position.setPiece(position.square(3, 9), Position.pieceCode(Position.GENERAL, true));
+        int count = MoveGenerator.generateLegalMoves(position, false, moves);
+        int chariotMoves = 0;
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.getFrom(moves[i]) == position.square(4, 3)) {
+                assertEquals(4, position.getX(PackedMove.getTo(moves[i])));
+                chariotMoves++;
+            }
+        }
+        assertEquals(7, chariotMoves);      //up to and including the capture, and down to the general.
+        assertFalse(MoveGenerator.isLegalMove(position, PackedMove.encode(position.square(4, 3),
+                position.square(0, 3), Position.EMPTY)));
+        assertTrue(MoveGenerator.isLegalMove(position, PackedMove.encode(position.square(4, 3),
+                position.square(4, 8), Position.pieceCode(Position.CHARIOT, true))));
+    }
+
+    @Test
+    public void generateLegalMoves_Checkmate_NoMoves()
+    {
+        position.setPiece(position.square(4, 9), Position.pieceCode(Position.GENERAL, true));
+        position.setPiece(position.square(3, 0), Position.GENERAL);
+        position.setPiece(position.square(0, 9), Position.CHARIOT);
+        position.setPiece(position.square(0, 8), Position.CHARIOT);
+        assertEquals(0, MoveGenerator.generateLegalMoves(position, true, moves));
+        assertTrue(MoveGenerator.generateMoves(position, true, moves) > 0);
+    }
+
+    /**
+     * Returns a position with the same pieces as the board of the specified game.
+     * @param game The game whose board is converted.
+     * @return The position of the board.
+     */
+    private Position toPosition(Game game)
+    {
+        Position converted = new Position(game.getBoardWidth(), game.getBoardLength());
+        for (int i = 0; i < game.getBoardWidth(); i++) {
+            for (int j = 0; j < game.getBoardLength(); j++) {
+                Piece piece = game.getPiece(new Location(i, j));
+                if (piece != null) {
+                    converted.setPiece(converted.square(i, j), piece.getCode());
+                }
+            }
+        }
+        return converted;
+    }
+
+    private Set<Integer> toSet(int[] packedMoves, int count)
+    {
+        Set<Integer> set = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            set.add(packedMoves[i]);
+        }
+        return set;
+    }
+
+    private Set<Integer> toSet(Position current, ArrayList<Move> pieceMoves)
+    {
+        Set<Integer> set = new HashSet<>();
+        for (Move move : pieceMoves) {
+            Location from = move.getMoveFromLocation();
+            Location to = move.getMoveToLocation();
+            int toSquare = current.square(to.getX(), to.getY());
+            set.add(PackedMove.encode(current.square(from.getX(), from.getY()), toSquare, current.getPiece(toSquare)));
+        }
+        return set;
+    }
+}
@@ -0,0 +1,150 @@
+package game;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MoveOrderer.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class MoveOrdererTest {
+    private Position position;
+    private MoveOrderer orderer;
+
+    @BeforeEach
+    void setUp()
+    {
+        position = new Position(9, 10);
+        orderer = new MoveOrderer(8);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        position = null;
+        orderer = null;
+    }
+
+    @Test
+    public void init_NonPositivePly_Exception()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new MoveOrderer(0));
+    }
+
+    @Test
+    public void scoreMoves_Captures_MostValuableVictimFirst()
+    {
+        int blackCannon = Position.pieceCode(Position.CANNON, true);
+        int blackChariot = Position.pieceCode(Position.CHARIOT, true);
+        position.setPiece(position.square(0, 0), Position.CHARIOT);
+        position.setPiece(position.square(0, 5), blackCannon);
+        position.setPiece(position.square(4, 0), Position.SOLDIER);
+        position.setPiece(position.square(4, 1), blackChariot);
+        int quiet = PackedMove.encode(position.square(0, 0), position.square(0, 1), Position.EMPTY);
+        int takeCannon = PackedMove.encode(position.square(0, 0), position.square(0, 5), blackCannon);
+        int takeChariot = PackedMove.encode(position.square(4, 0), position.square(4, 1), blackChariot);
+        int[] moves = {quiet, takeCannon, takeChariot};
+        int[] scores = new int[moves.length];
+
+        orderer.scoreMoves(position, moves, scores, moves.length, PackedMove.NONE, 0);
+        assertEquals(takeChariot, MoveOrderer.selectMove(moves, scores, moves.length, 0));
+        assertEquals(takeCannon, MoveOrderer.selectMove(moves, scores, moves.length, 1));
+        assertEquals(quiet, MoveOrderer.selectMove(moves, scores, moves.length, 2));
+    }
+
+    @Test
+    public void scoreMoves_SameVictim_LeastValuableAttackerFirst()
+    {
+        int blackHorse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(position.square(4, 4), blackHorse);
+        position.setPiece(position.square(4, 0), Position.CHARIOT);
+        position.setPiece(position.square(4, 3), Position.SOLDIER);
+        int byChariot = PackedMove.encode(position.square(4, 0), position.square(4, 4), blackHorse);
+        int bySoldier = PackedMove.encode(position.square(4, 3), position.square(4, 4), blackHorse);
+        int[] moves = {byChariot, bySoldier};
+        int[] scores = new int[moves.length];
+
+        orderer.scoreMoves(position, moves, scores, moves.length, PackedMove.NONE, 0);
+        assertEquals(bySoldier, MoveOrderer.selectMove(moves, scores, moves.length, 0));
+    }
+
+    @Test
+    public void scoreMoves_HashMove_BeforeCaptures()
+    {
+        int blackHorse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(position.square(0, 0), Position.CHARIOT);
+        position.setPiece(position.square(1, 0), blackHorse);
+        int capture = PackedMove.encode(position.square(0, 0), position.square(1, 0), blackHorse);
+        int quiet = PackedMove.encode(position.square(0, 0), position.square(0, 3), Position.EMPTY);
+        int[] moves = {capture, quiet};
+        int[] scores = new int[moves.length];
+
+        orderer.scoreMoves(position, moves, scores, moves.length, quiet, 0);
+        assertEquals(quiet, MoveOrderer.selectMove(moves, scores, moves.length, 0));
+    }
+
+    @Test
+    public void recordCutoff_QuietMove_KillerAtSameHeightOnly()
+    {
+        position.setPiece(position.square(0, 0), Position.CHARIOT);
+        int first = PackedMove.encode(position.square(0, 0), position.square(0, 1), Position.EMPTY);
+        int killer = PackedMove.encode(position.square(0, 0), position.square(0, 2), Position.EMPTY);
+
+        orderer.recordCutoff(position, killer, 1, 3);
+        assertEquals(killer, orderer.getKillers(3)[0]);
+        assertEquals(PackedMove.NONE, orderer.getKillers(2)[0]);
+
+        int[] moves = {first, killer};
+        int[] scores = new int[moves.length];
+        orderer.scoreMoves(position, moves, scores, moves.length, PackedMove.NONE, 3);
+        assertEquals(killer, MoveOrderer.selectMove(moves, scores, moves.length, 0));
+    }
+
+    @Test
+    public void recordCutoff_NewKiller_OlderKillerShifted()
+    {
+        int first = PackedMove.encode(0, 1, Position.EMPTY);
+        int second = PackedMove.encode(0, 2, Position.EMPTY);
+        position.setPiece(0, Position.CHARIOT);
+        orderer.recordCutoff(position, first, 1, 0);
+        orderer.recordCutoff(position, second, 1, 0);
+        orderer.recordCutoff(position, second, 1, 0);
+        assertArrayEquals(new int[] {second, first}, orderer.getKillers(0));
+    }
+
+    @Test
+    public void recordCutoff_Capture_NotRecorded()
+    {
+        int blackHorse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(0, Position.CHARIOT);
+        position.setPiece(1, blackHorse);
+        orderer.recordCutoff(position, PackedMove.encode(0, 1, blackHorse), 4, 0);
+        assertEquals(PackedMove.NONE, orderer.getKillers(0)[0]);
+        assertEquals(0, orderer.getHistory(Position.CHARIOT, 1));
+    }
+
+    @Test
+    public void recordCutoff_QuietMoves_HistoryOrdersByDepth()
+    {
+        position.setPiece(position.square(0, 0), Position.CHARIOT);
+        int shallow = PackedMove.encode(position.square(0, 0), position.square(0, 1), Position.EMPTY);
+        int deep = PackedMove.encode(position.square(0, 0), position.square(0, 2), Position.EMPTY);
+        int other = PackedMove.encode(position.square(0, 0), position.square(1, 0), Position.EMPTY);
+        orderer.recordCutoff(position, shallow, 1, 5);
+        orderer.recordCutoff(position, deep, 4, 6);
+        assertEquals(1, orderer.getHistory(Position.CHARIOT, position.square(0, 1)));
+        assertEquals(16, orderer.getHistory(Position.CHARIOT, position.square(0, 2)));
+
+        int[] moves = {other, shallow, deep};
+        int[] scores = new int[moves.length];
+        orderer.scoreMoves(position, moves, scores, moves.length, PackedMove.NONE, 0);
+        assertEquals(deep, MoveOrderer.selectMove(moves, scores, moves.length, 0));
+        assertEquals(shallow, MoveOrderer.selectMove(moves, scores, moves.length, 1));
+
+        orderer.clear();
+        assertEquals(0, orderer.getHistory(Position.CHARIOT, position.square(0, 2)));
+        assertEquals(PackedMove.NONE, orderer.getKillers(6)[0]);
+    }
+}
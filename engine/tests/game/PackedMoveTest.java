@@ -0,0 +1,62 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PackedMove.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class PackedMoveTest {
+
+    @Test
+    public void encode_Capture_FieldsDecoded()
+    {
+        int captured = Position.pieceCode(Position.CANNON, true);
+        int move = PackedMove.encode(89, 0, captured);
+        assertEquals(89, PackedMove.getFrom(move));
+        assertEquals(0, PackedMove.getTo(move));
+        assertEquals(captured, PackedMove.getCaptured(move));
+        assertTrue(PackedMove.isCapture(move));
+    }
+
+    @Test
+    public void encode_QuietMove_NotCapture()
+    {
+        int move = PackedMove.encode(4, 13, Position.EMPTY);
+        assertEquals(4, PackedMove.getFrom(move));
+        assertEquals(13, PackedMove.getTo(move));
+        assertFalse(PackedMove.isCapture(move));
+        assertNotEquals(PackedMove.NONE, move);
+    }
+
+    @Test
+    public void toNotation_CentralCannon_FileLetterAndRank()
+    {
+        int move = PackedMove.encode(2 * 9 + 7, 2 * 9 + 4, Position.EMPTY);
+        assertEquals("h2e2", PackedMove.toNotation(move));
+        assertEquals("a0i9", PackedMove.toNotation(PackedMove.encode(0, 89, Position.EMPTY)));
+    }
+
+    @Test
+    public void fromNotation_CannonCapture_CapturedPieceFromPosition()
+    {
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        int move = PackedMove.fromNotation("h2h9", position);
+        assertEquals(2 * 9 + 7, PackedMove.getFrom(move));
+        assertEquals(9 * 9 + 7, PackedMove.getTo(move));
+        assertEquals(Position.pieceCode(Position.HORSE, true), PackedMove.getCaptured(move));
+        assertEquals("h2h9", PackedMove.toNotation(move));
+    }
+
+    @Test
+    public void fromNotation_InvalidNotation_ThrowsException()
+    {
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.fromNotation("h2e", position));
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.fromNotation("j2e2", position));
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.fromNotation("h2h2", position));
+    }
+}
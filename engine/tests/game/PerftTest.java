@@ -0,0 +1,140 @@
+package game;
+
+import game.pieces.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Perft.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class PerftTest {
+
+    @Test
+    public void init_NegativeDepth_Exception()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new Perft(new Game().getPosition(), -1));
+    }
+
+    @Test
+    public void perft_DepthAboveMaximum_Exception()
+    {
+        Perft perft = new Perft(new Game().getPosition(), 2);
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> perft.perft(3));
+        assertEquals("The depth must be between 0 and 2.", exception.getMessage());
+    }
+
+    @Test
+    public void perft_StartingPosition_KnownCounts()
+    {
+        Perft perft = new Perft(new Game().getPosition(), 4);
+        assertEquals(1, perft.perft(0));
+        assertEquals(44, perft.perft(1));
+        assertEquals(1920, perft.perft(2));
+        assertEquals(79666, perft.perft(3));
+        assertEquals(1 + 44 + 1920 + 79666, perft.getNodeCount());
+        assertEquals(3290240, perft.perft(4));
+    }
+
+    @Test
+    public void perft_MiddlegamePositions_KnownCounts()
+    {
+        Perft perft = new Perft(Fen.toPosition("r1ba1a3/4kn3/2n1b4/pNp1p1p1p/4c4/6P2/P1P2R2P/1CcC5/9/2BAKAB2 w"), 3);
+        assertEquals(38, perft.perft(1));
+        assertEquals(1128, perft.perft(2));
+        assertEquals(43929, perft.perft(3));
+        perft = new Perft(Fen.toPosition("1cbak4/9/n2a5/2p1p3p/5cp2/2n2N3/6PCP/3AB4/2C6/3A1K1N1 w"), 3);
+        assertEquals(7, perft.perft(1));     //the red general is in check.
+        assertEquals(281, perft.perft(2));
+        assertEquals(8620, perft.perft(3));
+    }
+
+    @Test
+    public void perft_StartingPosition_SameAsGame()
+    {
+        Game game = new Game();
+        Position start = game.getPosition();
+        assertEquals(new Perft(start, 3).perft(3), Perft.perft(game, 3));
+        Position after = game.getPosition();
+        for (int i = 0; i < start.getSquareCount(); i++) {
+            assertEquals(start.getPiece(i), after.getPiece(i));
+        }
+    }
+
+    @Test
+    public void perft_EndgamePosition_SameAsGame()
+    {
+        Board board = new Board(9, 10);
+        markPalaceAndRiver(board);
+        Game game = new Game(board);
+        addPiece(game, board, new General(board, false), new Location(4, 0));
+        addPiece(game, board, new Advisor(board, false), new Location(3, 0));
+        addPiece(game, board, new Chariot(board, false), new Location(0, 4));
+        addPiece(game, board, new Cannon(board, false), new Location(4, 3));
+        addPiece(game, board, new Soldier(board, false), new Location(6, 4));
+        addPiece(game, board, new General(board, true), new Location(3, 9));
+        addPiece(game, board, new Horse(board, true), new Location(5, 7));
+        addPiece(game, board, new Elephant(board, true), new Location(2, 9));
+        addPiece(game, board, new Cannon(board, true), new Location(8, 8));
+
+        assertEquals(new Perft(game.getPosition(), 3).perft(3), Perft.perft(game, 3));
+    }
+
+    @Test
+    public void perft_RandomPositions_SameAsGame()
+    {
+        Random random = new Random(20261018);
+        for (int i = 0; i < 5; i++) {
+            Game game = new Game();
+            for (int ply = 0; ply < 30; ply++) {
+                ArrayList<Move> moves = game.getCurrentPlayer().getMoves();
+                if (moves.isEmpty()) {
+                    break;
+                }
+                game.move(moves.get(random.nextInt(moves.size())));
+            }
+            assertEquals(new Perft(game.getPosition(), 2).perft(2), Perft.perft(game, 2), "Game " + i);
+        }
+    }
+
+    @Test
+    public void divide_StartingPosition_SumsToPerft()
+    {
+        Perft perft = new Perft(new Game().getPosition(), 2);
+        Map<Integer, Long> counts = perft.divide(2);
+        assertEquals(44, counts.size());
+        long sum = 0;
+        for (long count : counts.values()) {
+            sum += count;
+        }
+        assertEquals(perft.perft(2), sum);
+        assertThrows(IllegalArgumentException.class, () -> perft.divide(0));
+    }
+
+    /**
+     * Marks the palace and river edge locations, which a game created with a board does not do.
+     * @param board The board to be marked.
+     */
+    private void markPalaceAndRiver(Board board)
+    {
+        for (int i = 0; i < board.getWidth(); i++) {
+            for (int j = 0; j < board.getLength(); j++) {
+                Location location = new Location(i, j);
+                board.setPalace(location, MoveGenerator.isPalace(i, j));
+                board.setRiverEdge(location, MoveGenerator.isRiverEdge(j));
+            }
+        }
+    }
+
+    private void addPiece(Game game, Board board, Piece piece, Location location)
+    {
+        board.setPiece(piece, location);
+        game.getPlayer(piece).addPiece(piece);
+    }
+}
@@ -0,0 +1,284 @@
+package game;
+
+import game.pieces.Chariot;
+import game.pieces.Horse;
+import game.pieces.Piece;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Position.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class PositionTest {
+    private Position position;
+
+    @BeforeEach
+    void setUp()
+    {
+        position = new Position(9, 10);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        position = null;
+    }
+
+    @Test
+    public void init()
+    {
+        assertEquals(9, position.getWidth());
+        assertEquals(10, position.getLength());
+        assertEquals(90, position.getSquareCount());
+        for (int i = 0; i < position.getSquareCount(); i++) {
+            assertTrue(position.isEmpty(i));
+        }
+    }
+
+    @Test
+    public void init_TooManySquares_Exception()
+    {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> new Position(12, 11));
+        assertEquals("A position cannot have more than 128 squares.", exception.getMessage());
+    }
+
+    @Test
+    public void square_Coordinates_RowByRow()
+    {
+        int square = position.square(4, 7);
+        assertEquals(67, square);
+        assertEquals(4, position.getX(square));
+        assertEquals(7, position.getY(square));
+    }
+
+    @Test
+    public void setPiece_LowSquare_MasksUpdated()
+    {
+        int piece = Position.pieceCode(Position.HORSE, false);
+        position.setPiece(10, piece);
+        assertEquals(piece, position.getPiece(10));
+        assertEquals(1L << 10, position.getLowMask(piece));
+        assertEquals(0, position.getHighMask(piece));
+        assertEquals(1L << 10, position.getColorLowMask(false));
+        assertEquals(0, position.getColorLowMask(true));
+    }
+
+    @Test
+    public void setPiece_HighSquare_MasksUpdated()
+    {
+        int piece = Position.pieceCode(Position.CHARIOT, true);
+        position.setPiece(89, piece);
+        assertEquals(piece, position.getPiece(89));
+        assertEquals(0, position.getLowMask(piece));
+        assertEquals(1L << 25, position.getHighMask(piece));
+        assertEquals(1L << 25, position.getColorHighMask(true));
+        assertEquals(89, position.findPiece(piece));
+    }
+
+    @Test
+    public void setPiece_OccupiedSquare_Replaced()
+    {
+        int chariot = Position.pieceCode(Position.CHARIOT, false);
+        int cannon = Position.pieceCode(Position.CANNON, true);
+        position.setPiece(40, chariot);
+        position.setPiece(40, cannon);
+        assertEquals(cannon, position.getPiece(40));
+        assertEquals(0, position.count(chariot));
+        assertEquals(0, position.countColor(false));
+        assertEquals(1, position.countColor(true));
+    }
+
+    @Test
+    public void setPiece_InvalidCode_Exception()
+    {
+        assertThrows(IllegalArgumentException.class, () -> position.setPiece(0, Position.BLACK));
+        assertThrows(IllegalArgumentException.class, () -> position.setPiece(0, Position.EMPTY));
+    }
+
+    @Test
+    public void clearSquare_Piece_Removed()
+    {
+        int piece = Position.pieceCode(Position.SOLDIER, true);
+        position.setPiece(63, piece);
+        position.setPiece(64, piece);
+        assertEquals(2, position.count(piece));
+        assertEquals(piece, position.clearSquare(63));
+        assertTrue(position.isEmpty(63));
+        assertEquals(1, position.count(piece));
+        assertEquals(64, position.findPiece(piece));
+        assertEquals(Position.EMPTY, position.clearSquare(63));
+    }
+
+    @Test
+    public void copy_Independent()
+    {
+        int piece = Position.pieceCode(Position.GENERAL, false);
+        position.setPiece(4, piece);
+        Position copy = new Position(position);
+        copy.clearSquare(4);
+        assertEquals(piece, position.getPiece(4));
+        assertTrue(copy.isEmpty(4));
+        assertEquals(-1, copy.findPiece(piece));
+    }
+
+    @Test
+    public void board_PiecesMoved_PositionMirrorsBoard()
+    {
+        Board board = new Board(9, 10);
+        Piece chariot = new Chariot(board, false);
+        Piece horse = new Horse(board, true);
+        board.setPiece(chariot, new Location(0, 0));
+        board.setPiece(horse, new Location(0, 5));
+        assertTrue(board.move(chariot, new Location(0, 5)));
+
+        Position boardPosition = board.getPosition();
+        assertTrue(boardPosition.isEmpty(boardPosition.square(0, 0)));
+        assertEquals(chariot.getCode(), boardPosition.getPiece(boardPosition.square(0, 5)));
+        assertEquals(0, boardPosition.count(horse.getCode()));
+    }
+
+    @Test
+    public void makeMove_Capture_UnmakeRestores()
+    {
+        int chariot = Position.pieceCode(Position.CHARIOT, false);
+        int horse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(position.square(0, 0), chariot);
+        position.setPiece(position.square(0, 8), horse);
+        Position before = new Position(position);
+        int move = PackedMove.encode(position.square(0, 0), position.square(0, 8), horse);
+
+        position.makeMove(move);
+        assertTrue(position.isEmpty(position.square(0, 0)));
+        assertEquals(chariot, position.getPiece(position.square(0, 8)));
+        assertEquals(0, position.count(horse));
+        assertEquals(0, position.countColor(true));
+        assertTrue(position.isBlackToMove());
+
+        position.unmakeMove(move);
+        assertFalse(position.isBlackToMove());
+        for (int i = 0; i < Position.PIECE_CODES; i++) {
+            assertEquals(before.getLowMask(i), position.getLowMask(i));
+            assertEquals(before.getHighMask(i), position.getHighMask(i));
+        }
+        for (int i = 0; i < position.getSquareCount(); i++) {
+            assertEquals(before.getPiece(i), position.getPiece(i));
+        }
+    }
+
+    @Test
+    public void getMaterial_StartingPosition_SameAsPlayers()
+    {
+        Game game = new Game();
+        Position start = game.getPosition();
+        assertEquals(game.getPlayer(false).getPieceValues(), start.getMaterial(false));
+        assertEquals(game.getPlayer(true).getPieceValues(), start.getMaterial(true));
+    }
+
+    @Test
+    public void getMaterial_CrossedSoldier_Bonus()
+    {
+        position.setPiece(position.square(0, 4), Position.SOLDIER);
+        position.setPiece(position.square(2, 5), Position.SOLDIER);
+        position.setPiece(position.square(0, 4), Position.pieceCode(Position.SOLDIER, true));
+        assertEquals(4, position.getMaterial(false));
+        assertEquals(4, position.getMaterial(true));
+    }
+
+    @Test
+    public void getKey_MakeUnmake_Restored()
+    {
+        int horse = Position.pieceCode(Position.HORSE, true);
+        position.setPiece(position.square(1, 0), Position.HORSE);
+        position.setPiece(position.square(2, 2), horse);
+        long key = position.getKey();
+        int move = PackedMove.encode(position.square(1, 0), position.square(2, 2), horse);
+
+        position.makeMove(move);
+        assertNotEquals(key, position.getKey());
+        position.unmakeMove(move);
+        assertEquals(key, position.getKey());
+    }
+
+    @Test
+    public void getKey_Transposition_SameKey()
+    {
+        Position other = new Position(9, 10);
+        position.setPiece(3, Position.CHARIOT);
+        position.setPiece(80, Position.pieceCode(Position.CANNON, true));
+        other.setPiece(80, Position.pieceCode(Position.CANNON, true));
+        other.setPiece(3, Position.CHARIOT);
+        assertEquals(position.getKey(), other.getKey());
+
+        other.setBlackToMove(true);
+        assertNotEquals(position.getKey(), other.getKey());
+        other.setBlackToMove(false);
+        assertEquals(position.getKey(), other.getKey());
+    }
+
+    @Test
+    public void getKey_GameMoveAndUndo_Restored()
+    {
+        Game game = new Game();
+        long key = game.getKey();
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(4, 2)));
+        assertNotEquals(key, game.getKey());
+        assertEquals(game.getPosition().getKey(), game.getKey());
+        game.undo(game.getPlayer(false));
+        assertEquals(key, game.getKey());
+    }
+
+    @Test
+    public void getPositionalScore_StartingPosition_Equal()
+    {
+        Position start = Fen.toPosition(Fen.STARTING_POSITION);
+        assertEquals(start.getPositionalScore(false), start.getPositionalScore(true));
+        assertTrue(start.getPositionalScore(false) > 0);
+    }
+
+    @Test
+    public void getPositionalScore_MakeUnmake_MatchesTable()
+    {
+        Position start = Fen.toPosition(Fen.STARTING_POSITION);
+        int red = start.getPositionalScore(false);
+        int black = start.getPositionalScore(true);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateMoves(start, false, moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (PackedMove.isCapture(move)) {
+                continue;
+            }
+            start.makeMove(move);
+            int from = PackedMove.getFrom(move);
+            int to = PackedMove.getTo(move);
+            int piece = start.getPiece(to);
+            assertEquals(red - PieceSquareTable.getValue(piece, from) + PieceSquareTable.getValue(piece, to),
+                    start.getPositionalScore(false));
+            assertEquals(black, start.getPositionalScore(true));
+            start.unmakeMove(move);
+            assertEquals(red, start.getPositionalScore(false));
+        }
+    }
+
+    @Test
+    public void getPositionalScore_Capture_ValueRemoved()
+    {
+        position.setPiece(position.square(0, 0), Position.CHARIOT);
+        position.setPiece(position.square(0, 9), Position.pieceCode(Position.HORSE, true));
+        int black = position.getPositionalScore(true);
+        assertEquals(PieceSquareTable.getValue(Position.pieceCode(Position.HORSE, true), position.square(0, 9)), black);
+
+        int move = PackedMove.encode(position.square(0, 0), position.square(0, 9),
+                Position.pieceCode(Position.HORSE, true));
+        position.makeMove(move);
+        assertEquals(0, position.getPositionalScore(true));
+        assertEquals(PieceSquareTable.getValue(Position.CHARIOT, position.square(0, 9)), position.getPositionalScore(false));
+        position.unmakeMove(move);
+        assertEquals(black, position.getPositionalScore(true));
+        assertEquals(PieceSquareTable.getValue(Position.CHARIOT, 0), new Position(position).getPositionalScore(false));
+    }
+}
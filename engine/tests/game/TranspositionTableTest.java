@@ -0,0 +1,110 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TranspositionTable.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class TranspositionTableTest {
+
+    @Test
+    public void init_NotPowerOfTwo_Exception()
+    {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> new TranspositionTable(1000));
+        assertEquals("The size must be a power of two.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    public void probe_Empty_NoEntry()
+    {
+        TranspositionTable table = new TranspositionTable(16);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(12345L));
+    }
+
+    @Test
+    public void store_Entry_FieldsProbed()
+    {
+        TranspositionTable table = new TranspositionTable(16);
+        int move = PackedMove.encode(89, 0, Position.pieceCode(Position.CHARIOT, true));
+        table.store(12345L, 7, TranspositionTable.LOWER_BOUND, -250, move);
+
+        long entry = table.probe(12345L);
+        assertNotEquals(TranspositionTable.NO_ENTRY, entry);
+        assertEquals(7, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+        assertEquals(-250, TranspositionTable.getScore(entry));
+        assertEquals(move, TranspositionTable.getMove(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(12345L + 16));
+    }
+
+    @Test
+    public void store_DepthPreferred_DeeperEntryKept()
+    {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementScheme.DEPTH_PREFERRED);
+        table.store(1L, 5, TranspositionTable.EXACT, 10, PackedMove.NONE);
+        table.store(17L, 2, TranspositionTable.EXACT, 20, PackedMove.NONE);
+        assertNotEquals(TranspositionTable.NO_ENTRY, table.probe(1L));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(17L));
+
+        table.newSearch();
+        table.store(17L, 2, TranspositionTable.EXACT, 20, PackedMove.NONE);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(1L));
+        assertEquals(20, TranspositionTable.getScore(table.probe(17L)));
+    }
+
+    @Test
+    public void store_AlwaysReplace_NewEntryKept()
+    {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementScheme.ALWAYS);
+        table.store(1L, 5, TranspositionTable.EXACT, 10, PackedMove.NONE);
+        table.store(17L, 2, TranspositionTable.EXACT, 20, PackedMove.NONE);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(1L));
+        assertEquals(20, TranspositionTable.getScore(table.probe(17L)));
+    }
+
+    @Test
+    public void store_ConcurrentThreads_ProbedEntriesConsistent() throws InterruptedException
+    {
+        TranspositionTable table = new TranspositionTable(64, TranspositionTable.ReplacementScheme.ALWAYS);
+        Thread[] threads = new Thread[4];
+        boolean[] consistent = new boolean[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                consistent[thread] = true;
+                for (int i = 0; i < 200000; i++) {
+                    long key = (i * 31L + thread) * 0x9E3779B97F4A7C15L;
+                    table.store(key, i & 0xFF, TranspositionTable.EXACT, (int) (key >>> 40), PackedMove.NONE);
+                    long probeKey = ((i - 7) * 31L + (thread + 1) % threads.length) * 0x9E3779B97F4A7C15L;
+                    long entry = table.probe(probeKey);
+                    if (entry != TranspositionTable.NO_ENTRY
+                            && TranspositionTable.getScore(entry) != (int) (probeKey >>> 40)) {
+                        consistent[thread] = false;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean threadConsistent : consistent) {
+            assertTrue(threadConsistent, "A probe returned the data of another position.");
+        }
+    }
+
+    @Test
+    public void clear_Entries_Removed()
+    {
+        TranspositionTable table = new TranspositionTable(16);
+        table.store(3L, 1, TranspositionTable.UPPER_BOUND, 0, PackedMove.NONE);
+        table.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(3L));
+    }
+}
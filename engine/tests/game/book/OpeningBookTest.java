@@ -0,0 +1,143 @@
+package game.book;
+
+import game.ComputerPlayer;
+import game.Fen;
+import game.Game;
+import game.Location;
+import game.Move;
+import game.PackedMove;
+import game.Position;
+import game.record.GameRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpeningBook.java and OpeningBookBuilder.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class OpeningBookTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void write_GamesWithResults_MovesWeightedByResult() throws IOException
+    {
+        Path path = directory.resolve("book.bin");
+        try (OpeningBookBuilder builder = new OpeningBookBuilder(2)) {
+            builder.add(record(GameRecord.RED_WIN, "h2e2", "h9g7", "h0g2"));
+            builder.add(record(GameRecord.ONGOING, "h2e2", "b9c7"));
+            builder.add(record(GameRecord.BLACK_WIN, "b2e2", "h9g7"));
+            assertEquals(3, builder.write(path, 1));
+        }
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(3, book.getEntryCount());
+            Position start = Fen.toPosition(Fen.STARTING_POSITION);
+            long key = start.getKey();
+            assertEquals(3, book.getWeight(key, move("h2e2", start)));
+            assertEquals(0, book.getWeight(key, move("b2e2", start)));      //the loser's move weighs nothing.
+            assertEquals(3, book.getTotalWeight(key));
+
+            start.makeMove(move("h2e2", start));
+            assertEquals(1, book.getWeight(start.getKey(), move("b9c7", start)));
+            assertEquals(0, book.getWeight(start.getKey(), move("h0g2", start)));      //beyond the plies.
+        }
+    }
+
+    @Test
+    public void write_MoreMovesThanOneRun_WeightsSummedAcrossRuns() throws IOException
+    {
+        Path onePass = directory.resolve("one.bin");
+        Path manyRuns = directory.resolve("many.bin");
+        try (OpeningBookBuilder builder = new OpeningBookBuilder(4);
+             OpeningBookBuilder runBuilder = new OpeningBookBuilder(4, 3)) {
+            for (int i = 0; i < 20; i++) {
+                GameRecord record = i % 2 == 0 ? record(GameRecord.RED_WIN, "h2e2", "h9g7", "h0g2", "i9h9")
+                        : record(GameRecord.ONGOING, "b2e2", "b9c7", "b0c2");
+                builder.add(record);
+                runBuilder.add(record);
+            }
+            assertEquals(5, builder.write(onePass, 1));
+            assertEquals(5, runBuilder.write(manyRuns, 1));
+        }
+        assertArrayEquals(Files.readAllBytes(onePass), Files.readAllBytes(manyRuns));
+
+        try (OpeningBook book = OpeningBook.open(manyRuns)) {
+            Position start = Fen.toPosition(Fen.STARTING_POSITION);
+            assertEquals(10 * 2, book.getWeight(start.getKey(), move("h2e2", start)));
+            assertEquals(10, book.getWeight(start.getKey(), move("b2e2", start)));
+        }
+    }
+
+    @Test
+    public void probe_BookPosition_ReturnsPlayableMove() throws IOException
+    {
+        Path path = directory.resolve("book.bin");
+        try (OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_PLY)) {
+            builder.add(record(GameRecord.ONGOING, "h2e2", "h9g7"));
+            builder.write(path, 1);
+        }
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            Position position = Fen.toPosition(Fen.STARTING_POSITION);
+            Random random = new Random(1);
+            assertEquals("h2e2", PackedMove.toNotation(book.probe(position, random)));
+            position.makeMove(move("b2e2", position));
+            assertEquals(PackedMove.NONE, book.probe(position, random));
+        }
+    }
+
+    @Test
+    public void decideMove_OpeningBook_PlaysBookMoveWithoutSearching() throws IOException
+    {
+        Path path = directory.resolve("book.bin");
+        try (OpeningBookBuilder builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_MAX_PLY)) {
+            builder.add(record(GameRecord.ONGOING, "h2e2", "h9g7"));
+            builder.write(path, 1);
+        }
+
+        Game game = new Game();
+        game.setComputerGame(4);
+        ComputerPlayer player = (ComputerPlayer) game.getPlayer(true);
+        try (OpeningBook book = OpeningBook.open(path)) {
+            player.setOpeningBook(book);
+            assertTrue(game.move(game.getPiece(new Location(7, 2)), new Location(4, 2)));
+            Move move = player.decideMove();
+            assertEquals(new Location(7, 9), move.getMoveFromLocation());
+            assertEquals(new Location(6, 7), move.getMoveToLocation());
+            assertEquals(0, player.getNodeCount());
+        }
+    }
+
+    @Test
+    public void open_NotABook_ThrowsException() throws IOException
+    {
+        Path path = Files.write(directory.resolve("book.bin"), new byte[] {1, 2, 3, 4});
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+
+    private static GameRecord record(int result, String... notations)
+    {
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        int[] moves = new int[notations.length];
+        for (int i = 0; i < notations.length; i++) {
+            moves[i] = move(notations[i], position);
+            position.makeMove(moves[i]);
+        }
+        return new GameRecord(null, moves, result);
+    }
+
+    private static int move(String notation, Position position)
+    {
+        return PackedMove.fromNotation(notation, position);
+    }
+}
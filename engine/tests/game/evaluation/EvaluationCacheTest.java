@@ -0,0 +1,112 @@
+package game.evaluation;
+
+import game.ComputerPlayer;
+import game.Fen;
+import game.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EvaluationCache.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class EvaluationCacheTest {
+
+    @Test
+    public void init_InvalidArguments_Exception()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(null));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(new MaterialEvaluator(), 0));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(new MaterialEvaluator(), 3));
+        assertEquals(EvaluationCache.DEFAULT_SIZE, new EvaluationCache(new MaterialEvaluator()).getSize());
+    }
+
+    @Test
+    public void evaluate_SamePosition_EvaluatedOnce()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        Evaluator counting = position -> {
+            calls.incrementAndGet();
+            return new PieceSquareEvaluator().evaluate(position);
+        };
+        EvaluationCache cache = new EvaluationCache(counting, 1024);
+        Position position = Fen.toPosition("3k5/9/9/4p4/9/9/9/2H6/9/R3K4 w");
+        int score = cache.evaluate(position);
+        assertEquals(score, cache.evaluate(position));
+        assertEquals(1, calls.get());
+
+        position.setBlackToMove(true);
+        assertEquals(-score, cache.evaluate(position));
+        assertEquals(2, calls.get());
+
+        cache.clear();
+        assertEquals(EvaluationCache.MISS, cache.probe(position.getKey()));
+        assertEquals(-score, cache.evaluate(position));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void store_SameSlot_Replaced()
+    {
+        EvaluationCache cache = new EvaluationCache(new MaterialEvaluator(), 16);
+        assertEquals(EvaluationCache.MISS, cache.probe(5));
+        cache.store(5, 0);
+        assertEquals(0, cache.probe(5));
+        cache.store(5 + 16, -7);
+        assertEquals(-7, cache.probe(5 + 16));
+        assertEquals(EvaluationCache.MISS, cache.probe(5));
+    }
+
+    @Test
+    public void store_SeveralThreads_NoWrongScores() throws InterruptedException
+    {
+        EvaluationCache cache = new EvaluationCache(new MaterialEvaluator(), 64);
+        AtomicInteger wrong = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200000; i++) {
+                    long key = random.nextLong();
+                    cache.store(key, scoreOf(key));
+                    long other = random.nextLong() & 0xFF;
+                    int score = cache.probe(other);
+                    if (score != EvaluationCache.MISS && score != scoreOf(other)) {
+                        wrong.incrementAndGet();
+                    }
+                    cache.store(other, scoreOf(other));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, wrong.get());
+    }
+
+    @Test
+    public void search_Cached_SameResultAsUncached()
+    {
+        Position position = Fen.toPosition("rnbakabnr/9/1c5c1/p1p1p1p1p/9/9/P1P1P1P1P/1C2C4/9/RNBAKABNR b");
+        ComputerPlayer uncached = new ComputerPlayer(true, 4);
+        uncached.setEvaluator(new TaperedEvaluator());
+        int move = uncached.search(new Position(position), 4);
+
+        ComputerPlayer cached = new ComputerPlayer(true, 4);
+        cached.setEvaluator(new EvaluationCache(new TaperedEvaluator()));
+        assertEquals(move, cached.search(new Position(position), 4));
+        assertEquals(uncached.getScore(), cached.getScore());
+    }
+
+    private static int scoreOf(long key)
+    {
+        return (int) (key >>> 17) % 1000;
+    }
+}
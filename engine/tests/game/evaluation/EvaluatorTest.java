@@ -0,0 +1,80 @@
+package game.evaluation;
+
+import game.Fen;
+import game.Game;
+import game.Location;
+import game.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MaterialEvaluator.java, PieceSquareEvaluator.java and TaperedEvaluator.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class EvaluatorTest {
+    private static final Evaluator[] EVALUATORS = {
+            new MaterialEvaluator(), new PieceSquareEvaluator(), new TaperedEvaluator()
+    };
+
+    @Test
+    public void evaluate_StartingPosition_Zero()
+    {
+        Position position = Fen.toPosition(Fen.STARTING_POSITION);
+        for (Evaluator evaluator : EVALUATORS) {
+            assertEquals(0, evaluator.evaluate(position), evaluator.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void evaluate_SideToMoveSwapped_Negated()
+    {
+        Position position = Fen.toPosition("3k5/9/9/4p4/9/9/9/2H6/9/R3K4 w");
+        for (Evaluator evaluator : EVALUATORS) {
+            int red = evaluator.evaluate(position);
+            position.setBlackToMove(true);
+            assertEquals(-red, evaluator.evaluate(position), evaluator.getClass().getSimpleName());
+            assertTrue(red > 0, evaluator.getClass().getSimpleName());
+            position.setBlackToMove(false);
+        }
+    }
+
+    @Test
+    public void evaluate_Material_SameAsGame()
+    {
+        Game game = new Game();
+        assertTrue(game.move(game.getPiece(new Location(1, 2)), new Location(1, 9)));      //the cannon takes a horse.
+        Evaluator evaluator = new MaterialEvaluator();
+        Position position = game.getPosition();
+        assertEquals(game.evaluateScore(true), evaluator.evaluate(position));
+        assertEquals(-8, evaluator.evaluate(position));
+    }
+
+    @Test
+    public void evaluate_PieceSquares_PositionMatters()
+    {
+        Evaluator evaluator = new PieceSquareEvaluator();
+        int central = evaluator.evaluate(Fen.toPosition("3k5/9/9/9/9/9/9/4H4/9/4K4 w"));
+        int corner = evaluator.evaluate(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/H3K4 w"));
+        assertTrue(central > corner);
+        assertEquals(0, new MaterialEvaluator().evaluate(Fen.toPosition("3k5/9/9/9/9/9/9/4H4/9/4K4 w"))
+                - new MaterialEvaluator().evaluate(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/H3K4 w")));
+    }
+
+    @Test
+    public void evaluate_Tapered_BlendsByPhase()
+    {
+        Position start = Fen.toPosition(Fen.STARTING_POSITION);
+        assertEquals(TaperedEvaluator.MAX_PHASE, TaperedEvaluator.getPhase(start));
+
+        //with every chariot, horse and cannon on the board, the tapered score is the middlegame score.
+        Position middlegame = Fen.toPosition("rnbakabnr/9/1c5c1/p1p1p1p1p/9/9/P1P1P1P1P/1C2C4/9/RNBAKABNR b");
+        assertEquals(new PieceSquareEvaluator().evaluate(middlegame), new TaperedEvaluator().evaluate(middlegame));
+
+        //without them, soldiers that have crossed the river are worth more than the piece squares say.
+        Position endgame = Fen.toPosition("3k5/9/9/4P4/9/9/9/9/9/4K4 w");
+        assertEquals(0, TaperedEvaluator.getPhase(endgame));
+        assertEquals(35, new TaperedEvaluator().evaluate(endgame));
+    }
+}
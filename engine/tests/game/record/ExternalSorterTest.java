@@ -0,0 +1,68 @@
+package game.record;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExternalSorter.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class ExternalSorterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void forEachSorted_ManyRuns_PairsInOrder() throws IOException
+    {
+        Random random = new Random(7);
+        List<long[]> expected = new ArrayList<>();
+        List<long[]> sorted = new ArrayList<>();
+        try (ExternalSorter sorter = new ExternalSorter(directory, 100)) {
+            for (int i = 0; i < 1050; i++) {
+                //few keys, so that most keys are split between runs.
+                long key = random.nextInt(20) - 10;
+                long value = random.nextLong();
+                expected.add(new long[] {key, value});
+                sorter.add(key, value);
+            }
+            assertEquals(10, sorter.getRunCount());
+            assertEquals(1050, sorter.getCount());
+            sorter.forEachSorted((key, value) -> sorted.add(new long[] {key, value}));
+        }
+        expected.sort(Comparator.<long[]>comparingLong(pair -> pair[0]).thenComparingLong(pair -> pair[1]));
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), sorted.get(i));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());      //the runs are deleted when the sorter is closed.
+        }
+    }
+
+    @Test
+    public void forEachSorted_Empty_NoPairs() throws IOException
+    {
+        try (ExternalSorter sorter = new ExternalSorter(directory, 4)) {
+            sorter.forEachSorted((key, value) -> fail("There are no pairs."));
+        }
+    }
+
+    @Test
+    public void constructor_NoPairsPerRun_ThrowsException()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(directory, 0));
+    }
+}
@@ -0,0 +1,154 @@
+package game.record;
+
+import game.Fen;
+import game.Game;
+import game.Location;
+import game.MoveGenerator;
+import game.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameDatabase.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class GameDatabaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void query_SharedOpening_ReturnsEveryGameReachingIt() throws IOException
+    {
+        Path games = directory.resolve("games.dat");
+        Path index = directory.resolve("games.idx");
+        try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(games))) {
+            //games 0 and 2 play the central cannon, game 1 does not.
+            writeGame(writer, new Location(7, 2), new Location(4, 2), new Location(7, 9), new Location(6, 7));
+            writeGame(writer, new Location(1, 0), new Location(2, 2), new Location(1, 9), new Location(2, 7));
+            writeGame(writer, new Location(7, 2), new Location(4, 2), new Location(1, 9), new Location(2, 7));
+        }
+        GameDatabase.build(games, index);
+
+        try (GameDatabase database = GameDatabase.open(games, index)) {
+            assertEquals(3, database.getGameCount());
+            assertEquals(3 * 3, database.getPositionCount());
+            assertArrayEquals(new int[] {0, 1, 2}, database.findGames(new Game().getKey()));
+
+            Game centralCannon = new Game();
+            assertTrue(centralCannon.move(centralCannon.getPiece(new Location(7, 2)), new Location(4, 2)));
+            assertArrayEquals(new int[] {0, 2}, database.findGames(centralCannon.getKey()));
+            assertEquals(1, database.findPly(2, centralCannon.getKey()));
+            assertEquals(-1, database.findPly(1, centralCannon.getKey()));
+
+            List<GameRecord> records = database.query(Fen.toBoard(centralCannon.toFen()));
+            assertEquals(2, records.size());
+            assertEquals(database.getGame(2).toGame().toFen(), records.get(1).toGame().toFen());
+            assertEquals(0, database.findGames(Fen.toBoard("4k4/9/9/9/9/9/9/9/9/4K4 w").getKey()).length);
+        }
+    }
+
+    @Test
+    public void findGames_ManyRandomGames_EveryPositionFound() throws IOException
+    {
+        Path games = directory.resolve("games.dat");
+        Path index = directory.resolve("games.idx");
+        List<GameRecord> records = writeRandomGames(games, 100, new Random(7));
+        GameDatabase.build(games, index);
+
+        try (GameDatabase database = GameDatabase.open(games, index)) {
+            for (int game = 0; game < records.size(); game++) {
+                GameRecord record = records.get(game);
+                Position position = record.getStartPosition();
+                for (int ply = 0; ply <= record.getMoveCount(); ply++) {
+                    if (ply > 0) {
+                        position.makeMove(record.getMove(ply - 1));
+                    }
+                    int[] found = database.findGames(position.getKey());
+                    assertTrue(Arrays.binarySearch(found, game) >= 0);
+                    assertTrue(database.findPly(game, position.getKey()) <= ply);
+                }
+                assertEquals(record.getMove(29), database.getGame(game).getMove(29));
+            }
+        }
+    }
+
+    @Test
+    public void open_NotAnIndex_ThrowsException() throws IOException
+    {
+        Path games = Files.write(directory.resolve("games.dat"), new byte[0]);
+        Path index = Files.write(directory.resolve("games.idx"), new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> GameDatabase.open(games, index));
+    }
+
+    @Test
+    public void build_MoreEntriesThanOneRun_SameIndexAsOneRun() throws IOException
+    {
+        Path games = directory.resolve("games.dat");
+        Path index = directory.resolve("games.idx");
+        Path merged = directory.resolve("merged.idx");
+        writeRandomGames(games, 40, new Random(11));
+        GameDatabase.build(games, index);
+        GameDatabase.build(games, merged, 50);       //40 games of 31 positions make 25 runs.
+
+        assertArrayEquals(Files.readAllBytes(index), Files.readAllBytes(merged));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());     //the runs are deleted.
+        }
+        try (GameDatabase database = GameDatabase.open(games, merged)) {
+            assertEquals(40 * 31, database.getPositionCount());
+            assertEquals(40, database.findGames(Fen.toPosition(Fen.STARTING_POSITION).getKey()).length);
+        }
+        assertThrows(IllegalArgumentException.class, () -> GameDatabase.build(games, merged, 0));
+    }
+
+    /**
+     * Writes games of 30 random moves from the starting position.
+     * @param games The file the games are written to.
+     * @param gameCount The number of games.
+     * @param random The source of the moves.
+     * @return The games written.
+     */
+    private static List<GameRecord> writeRandomGames(Path games, int gameCount, Random random) throws IOException
+    {
+        List<GameRecord> records = new ArrayList<>();
+        try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(games))) {
+            for (int game = 0; game < gameCount; game++) {
+                Position position = Fen.toPosition(Fen.STARTING_POSITION);
+                int[] moves = new int[30];
+                int[] buffer = new int[MoveGenerator.MAX_MOVES];
+                for (int ply = 0; ply < moves.length; ply++) {
+                    int count = MoveGenerator.generateMoves(position, position.isBlackToMove(), buffer);
+                    moves[ply] = buffer[random.nextInt(count)];
+                    position.makeMove(moves[ply]);
+                }
+                GameRecord record = new GameRecord(null, moves, GameRecord.ONGOING);
+                writer.write(record);
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static void writeGame(GameRecordWriter writer, Location... moves)
+    {
+        Game game = new Game();
+        writer.start(game);
+        for (int i = 0; i < moves.length; i += 2) {
+            assertTrue(game.move(game.getPiece(moves[i]), moves[i + 1]));
+        }
+        writer.end();
+    }
+}
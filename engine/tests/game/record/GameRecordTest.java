@@ -0,0 +1,136 @@
+package game.record;
+
+import game.Game;
+import game.Location;
+import game.PackedMove;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameRecord.java, GameRecordWriter.java and GameRecordReader.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class GameRecordTest {
+
+    @Test
+    public void write_PlayedGame_TwoBytesPerMove() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GameRecordWriter writer = new GameRecordWriter(bytes);
+        Game game = new Game();
+        writer.start(game);
+        playOpening(game);
+        writer.end();
+        writer.flush();
+
+        //a 4 byte header, 4 moves and the end.
+        assertEquals(4 + 4 * 2 + 2, bytes.size());
+    }
+
+    @Test
+    public void read_RecordedGame_ReplaysToSamePosition() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Game game = new Game();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            writer.start(game);
+            playOpening(game);
+            writer.end();
+        }
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()));
+        GameRecord record = reader.read();
+        assertNull(reader.read());
+        assertTrue(record.isStandardStart());
+        assertEquals(4, record.getMoveCount());
+        assertEquals(GameRecord.ONGOING, record.getResult());
+        assertEquals("h2e2", PackedMove.toNotation(record.getMove(0)));
+        assertEquals(game.toFen(), record.toGame().toFen());
+        assertEquals(game.getKey(), record.toGame().getKey());
+    }
+
+    @Test
+    public void read_UndoneMove_RemovedFromRecord() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Game game = new Game();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            writer.start(game);
+            playOpening(game);
+            game.undo(game.getPlayer(true));
+            assertTrue(game.move(game.getPiece(new Location(0, 9)), new Location(0, 8)));
+        }
+
+        GameRecord record = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray())).read();
+        assertEquals(4, record.getMoveCount());
+        assertEquals("a9a8", PackedMove.toNotation(record.getMove(3)));
+        assertEquals(game.toFen(), record.toGame().toFen());
+    }
+
+    @Test
+    public void read_SeveralGamesWithCapturesAndFen_AllRead() throws IOException
+    {
+        String fen = "3k5/9/9/9/9/9/9/9/3R5/4K4 w - - 0 1";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            Game first = new Game();
+            writer.start(first);
+            playOpening(first);
+            writer.end();
+
+            Game second = new Game(fen);
+            writer.start(second);
+            assertTrue(second.move(second.getPiece(new Location(3, 1)), new Location(3, 9)));
+            writer.end();
+        }
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(4, reader.read().getMoveCount());
+        GameRecord record = reader.read();
+        assertNull(reader.read());
+        assertFalse(record.isStandardStart());
+        assertEquals(fen, record.getStartFen());
+        assertEquals(GameRecord.RED_WIN, record.getResult());
+        assertTrue(PackedMove.isCapture(record.getMove(0)));
+        Game replayed = record.toGame();
+        assertFalse(replayed.checkOngoing());
+        assertEquals(replayed.getPlayer(false), replayed.getWinner());
+    }
+
+    @Test
+    public void read_WonByResignation_LoserResigns() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+            writer.write(new GameRecord(null, new int[0], GameRecord.BLACK_WIN));
+        }
+
+        Game game = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray())).read().toGame();
+        assertEquals(game.getPlayer(true), game.getWinner());
+    }
+
+    @Test
+    public void read_InvalidData_ThrowsException()
+    {
+        byte[] badMagic = {0x12, 0x34, 1, 0, (byte) 0xC0, 0};
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(badMagic)).read());
+        byte[] noEnd = {0x58, 0x47, 1, 0};
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(noEnd)).read());
+        byte[] emptySquare = {0x58, 0x47, 1, 0, 0, 40};
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(emptySquare)).read());
+    }
+
+    private static void playOpening(Game game)
+    {
+        assertTrue(game.move(game.getPiece(new Location(7, 2)), new Location(4, 2)));
+        assertTrue(game.move(game.getPiece(new Location(7, 9)), new Location(6, 7)));
+        assertTrue(game.move(game.getPiece(new Location(7, 0)), new Location(6, 2)));
+        assertTrue(game.move(game.getPiece(new Location(8, 9)), new Location(7, 9)));
+    }
+}
@@ -0,0 +1,161 @@
+package game.tablebase;
+
+import game.ComputerPlayer;
+import game.Fen;
+import game.MoveGenerator;
+import game.PackedMove;
+import game.Position;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Tablebase.java and TablebaseGenerator.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class TablebaseTest {
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    public static void generate() throws IOException
+    {
+        new TablebaseGenerator(2).generate("KRK", directory);
+    }
+
+    @Test
+    public void generate_Material_WritesTablesAfterCaptures()
+    {
+        assertTrue(Files.exists(directory.resolve("KRK" + Tablebase.EXTENSION)));
+        assertTrue(Files.exists(directory.resolve("KK" + Tablebase.EXTENSION)));
+    }
+
+    @Test
+    public void generate_InvalidMaterial_Exception()
+    {
+        TablebaseGenerator generator = new TablebaseGenerator(1);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate("KRR", directory));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(0));
+    }
+
+    @Test
+    public void probe_GeneralCapturable_WinInOne() throws IOException
+    {
+        try (Tablebase tablebase = Tablebase.open(directory)) {
+            assertEquals(2, tablebase.getTableCount());
+            assertEquals(3, tablebase.getMaxPieces());
+            assertEquals(1, tablebase.probe(Fen.toPosition("4k4/9/9/9/9/9/9/9/4R4/3K5 w")));
+            assertEquals(1, tablebase.probe(Fen.toPosition("4k4/9/9/9/9/9/9/9/9/4K4 b")));       //flying general.
+        }
+    }
+
+    @Test
+    public void probe_ColorsSwapped_SameResult() throws IOException
+    {
+        try (Tablebase tablebase = Tablebase.open(directory)) {
+            int red = tablebase.probe(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/R3K4 w"));
+            int black = tablebase.probe(Fen.toPosition("r3k4/9/9/9/9/9/9/9/9/3K5 b"));
+            assertTrue(Tablebase.isWin(red));
+            assertEquals(red, black);
+            assertTrue(Tablebase.isLoss(tablebase.probe(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/R3K4 b"))));
+        }
+    }
+
+    @Test
+    public void probe_NotInTablebase_Unknown() throws IOException
+    {
+        try (Tablebase tablebase = Tablebase.open(directory)) {
+            assertEquals(Tablebase.UNKNOWN, tablebase.probe(Fen.toPosition(Fen.STARTING_POSITION)));
+            assertEquals(Tablebase.UNKNOWN, tablebase.probe(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/H3K4 w")));
+        }
+    }
+
+    @Test
+    public void probe_RandomPositions_ConsistentWithMoves() throws IOException
+    {
+        try (Tablebase tablebase = Tablebase.open(directory)) {
+            Random random = new Random(3);
+            int[] moves = new int[MoveGenerator.MAX_MOVES];
+            int checked = 0;
+            while (checked < 200) {
+                Position position = randomPosition(random);
+                int result = tablebase.probe(position);
+                if (result == Tablebase.UNKNOWN || result <= 1) {
+                    continue;
+                }
+                //a won position has a move to a position lost one ply sooner, and a lost position has none better.
+                int count = MoveGenerator.generateMoves(position, position.isBlackToMove(), moves);
+                int best = Integer.MAX_VALUE;
+                int longestLoss = 0;
+                for (int i = 0; i < count; i++) {
+                    position.makeMove(moves[i]);
+                    int after = tablebase.probe(position);
+                    position.unmakeMove(moves[i]);
+                    assertNotEquals(Tablebase.UNKNOWN, after);
+                    if (Tablebase.isLoss(after)) {
+                        best = Math.min(best, after);
+                    }
+                    assertFalse(Tablebase.isLoss(result) && (after == Tablebase.DRAW || Tablebase.isLoss(after)));
+                    longestLoss = Math.max(longestLoss, after);
+                }
+                if (Tablebase.isWin(result)) {
+                    assertEquals(result - 1, best);
+                } else {
+                    assertEquals(result - 1, longestLoss);
+                }
+                checked++;
+            }
+        }
+    }
+
+    @Test
+    public void search_TablebaseSet_WinFoundBeyondDepth() throws IOException
+    {
+        Position position = Fen.toPosition("3k5/9/9/9/9/9/9/9/9/R3K4 w");
+        ComputerPlayer player = new ComputerPlayer(false, 1);
+        int[] scores = new int[1];
+        player.setSearchListener((depth, score, nodeCount, principalVariation) -> scores[0] = score);
+        player.search(new Position(position), 1);
+        assertFalse(ComputerPlayer.isMateScore(scores[0]));
+
+        try (Tablebase tablebase = Tablebase.open(directory)) {
+            player.setTablebase(tablebase);
+            assertSame(tablebase, player.getTablebase());
+            int move = player.search(new Position(position), 1);
+            assertTrue(ComputerPlayer.isMateScore(scores[0]));
+            //the tablebase counts the moves until the general is captured, two moves after the checkmate.
+            assertEquals(ComputerPlayer.MATE_SCORE - (tablebase.probe(position) - 2), scores[0]);
+
+            position.makeMove(move);
+            assertEquals(tablebase.probe(Fen.toPosition("3k5/9/9/9/9/9/9/9/9/R3K4 w")) - 1, tablebase.probe(position));
+        }
+    }
+
+    /**
+     * Returns a position of the red general, the black general and a red chariot on random squares.
+     */
+    private static Position randomPosition(Random random)
+    {
+        Position position = new Position(MoveGenerator.WIDTH, MoveGenerator.LENGTH);
+        int redGeneral = position.square(3 + random.nextInt(3), random.nextInt(3));
+        int blackGeneral = position.square(3 + random.nextInt(3), 7 + random.nextInt(3));
+        int chariot;
+        do {
+            chariot = random.nextInt(MoveGenerator.WIDTH * MoveGenerator.LENGTH);
+        } while (chariot == redGeneral || chariot == blackGeneral);
+        position.setPiece(redGeneral, Position.pieceCode(Position.GENERAL, false));
+        position.setPiece(blackGeneral, Position.pieceCode(Position.GENERAL, true));
+        position.setPiece(chariot, Position.pieceCode(Position.CHARIOT, false));
+        position.setBlackToMove(random.nextBoolean());
+        return position;
+    }
+}
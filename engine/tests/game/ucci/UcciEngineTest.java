@@ -0,0 +1,110 @@
+package game.ucci;
+
+import game.Fen;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UcciEngine.java.
+ * @author Lee Seng Poh
+ * @version 18-10-2026
+ */
+class UcciEngineTest {
+
+    @Test
+    public void run_Handshake_RepliesUcciokAndReadyok() throws IOException
+    {
+        String output = run("ucci\nisready\nquit\n");
+        assertTrue(output.contains("id name " + UcciEngine.NAME));
+        assertTrue(output.contains("ucciok"));
+        assertTrue(output.contains("readyok"));
+        assertTrue(output.trim().endsWith("bye"));
+    }
+
+    @Test
+    public void execute_GoDepth_InfoForEachDepthThenBestMove() throws InterruptedException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        UcciEngine engine = new UcciEngine(new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        engine.execute("setoption hashsize 1");
+        engine.execute("position startpos moves h2e2");
+        engine.execute("go depth 3");
+        String output = awaitBestMove(bytes);
+        for (int depth = 1; depth <= 3; depth++) {
+            assertTrue(output.contains("info depth " + depth + " score "), output);
+        }
+        assertTrue(output.contains(" nps "), output);
+        assertTrue(output.contains(" hashfull "), output);
+        assertTrue(output.contains(" pv "), output);
+        assertTrue(output.matches("(?s).*bestmove [a-i][0-9][a-i][0-9].*"), output);
+    }
+
+    @Test
+    public void execute_PositionWithMoves_MovesPlayed()
+    {
+        UcciEngine engine = new UcciEngine(new ByteArrayInputStream(new byte[0]),
+                new PrintStream(new ByteArrayOutputStream()));
+        engine.execute("position fen " + Fen.STARTING_POSITION + " moves h2e2 h9g7");
+        assertEquals("rnbakab1r/9/1c4nc1/p1p1p1p1p/9/9/P1P1P1P1P/1C2C4/9/RNBAKABNR w - - 0 1",
+                Fen.fromPosition(engine.getPosition()));
+    }
+
+    @Test
+    public void execute_IllegalMove_ReportedAndPositionUnchanged()
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        UcciEngine engine = new UcciEngine(new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        engine.execute("position startpos moves h2h8");
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).startsWith("info string Illegal move: h2h8"));
+        assertEquals(Fen.STARTING_POSITION, Fen.fromPosition(engine.getPosition()));
+    }
+
+    @Test
+    public void execute_GoInfiniteThenStop_BestMove()
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        UcciEngine engine = new UcciEngine(new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        engine.execute("position startpos");
+        engine.execute("go infinite");
+        engine.execute("stop");
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("bestmove "));
+    }
+
+    @Test
+    public void execute_GoInfiniteFinishedEarly_BestMoveOnlyAfterStop() throws InterruptedException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        UcciEngine engine = new UcciEngine(new ByteArrayInputStream(new byte[0]), new PrintStream(bytes));
+        engine.execute("position fen 4k3R/R8/9/9/9/9/9/9/9/3K5 b");      //checkmated, so the search ends at once.
+        engine.execute("go infinite");
+        Thread.sleep(200);
+        assertFalse(bytes.toString(StandardCharsets.UTF_8).contains("bestmove"));
+        engine.execute("stop");
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("nobestmove"));
+    }
+
+    private static String awaitBestMove(ByteArrayOutputStream bytes) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        while (!output.contains("bestmove") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            output = bytes.toString(StandardCharsets.UTF_8);
+        }
+        return output;
+    }
+
+    private static String run(String input) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new UcciEngine(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new PrintStream(bytes)).run();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -2,6 +2,7 @@ package GUI;
 
 import game.Game;
 import game.Location;
+import game.Move;
 import game.Player;
 import game.pieces.Piece;
 import javafx.beans.binding.Bindings;
@@ -25,11 +26,14 @@ import java.util.ArrayList;
  * The setUpChessPieces method needs to be called to initialise the chess pieces.
  *
  * @author Lee Seng Poh
- * @version 21-10-2023
+ * @version 18-10-2026
  */
 public class GamePane extends Pane {
     public static final double INIT_BOARD_WIDTH = 300.0;
     public static final double INIT_LOCATION_RADIUS = 15.0;
+    //The computer player searches deeper until it reaches this ply or runs out of time for the move.
+    public static final int COMPUTER_MAX_PLY = 8;
+    public static final long COMPUTER_TIME_LIMIT = 1000;
     private VBox base;
     private ImageView boardView;
     private StackPane boardPane;        //The pane for the chess board view.
@@ -50,7 +54,7 @@ public class GamePane extends Pane {
         game = new Game();
 
         if (isComputerGame) {
-            game.setComputerGame(3);
+            game.setComputerGame(COMPUTER_MAX_PLY, COMPUTER_TIME_LIMIT);
         }
 
         boardView = createBoardImageView();
@@ -282,12 +286,14 @@ public class GamePane extends Pane {
             movesPane.maxHeightProperty().bind(getActualHeightProperty(boardView));
             movesPane.minHeightProperty().bind(getActualHeightProperty(boardView));
 
-            ArrayList<Location> moves = selectedPiece.getMoves();
-            for (Location move : moves) {
+            //only the legal moves are shown, leaving out those that would expose the general.
+            ArrayList<Move> moves = game.getPlayer(selectedPiece).getMoves(selectedPiece);
+            for (Move move : moves) {
                 Circle circle = new Circle();
                 circle.setOpacity(0.1);
                 movesPane.getChildren().add(circle);
-                LocationCircle locationCircle = locationCircles[move.getX()][move.getY()];
+                Location location = move.getMoveToLocation();
+                LocationCircle locationCircle = locationCircles[location.getX()][location.getY()];
 
                 circle.radiusProperty().bind(locationCircle.radiusProperty().multiply(0.5));
                 circle.layoutXProperty().bind(locationCircle.layoutXProperty());
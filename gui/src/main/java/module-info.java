@@ -1,7 +1,8 @@
 module GUI.ChineseChessApplication {
     requires javafx.controls;
     requires javafx.fxml;
+    requires ChineseChess.engine;
 
     exports GUI;
     opens GUI to javafx.fxml;
-}
\ No newline at end of file
+}